@@ -17,17 +17,24 @@
 package io.michaelrocks.lightsaber;
 
 import java.lang.annotation.Annotation;
-import java.lang.reflect.InvocationHandler;
+import java.lang.ref.WeakReference;
 import java.lang.reflect.Proxy;
 import java.security.AccessController;
 import java.security.PrivilegedAction;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.WeakHashMap;
 
 import javax.annotation.Nonnull;
 
 public class AnnotationBuilder<T extends Annotation> {
+  // Equal annotations are built only once while they are in use so keys with qualifiers can be compared by identity in
+  // most cases. Annotations are held weakly and a handler is referenced only by its annotation, so unused annotations
+  // are evicted and don't pin their classes. Guarded by the map's monitor.
+  private static final Map<AnnotationInvocationHandler, WeakReference<Annotation>> annotations =
+      new WeakHashMap<AnnotationInvocationHandler, WeakReference<Annotation>>();
+
   private final Class<? extends T> annotationClass;
   private Map<String, Object> values = null;
 
@@ -141,8 +148,23 @@ public class AnnotationBuilder<T extends Annotation> {
           @SuppressWarnings("unchecked")
           public T run() {
             final Map<String, ?> explicitValues = values == null ? Collections.<String, Object>emptyMap() : values;
-            final InvocationHandler handler = new AnnotationInvocationHandler(annotationClass, explicitValues);
-            return (T) Proxy.newProxyInstance(annotationClass.getClassLoader(), new Class<?>[] { annotationClass }, handler);
+            final AnnotationInvocationHandler handler = new AnnotationInvocationHandler(annotationClass, explicitValues);
+            synchronized (annotations) {
+              final WeakReference<Annotation> cachedReference = annotations.get(handler);
+              final Annotation cachedAnnotation = cachedReference == null ? null : cachedReference.get();
+              if (cachedAnnotation != null) {
+                return (T) cachedAnnotation;
+              }
+
+              final ClassLoader classLoader = annotationClass.getClassLoader();
+              final Annotation annotation =
+                  (Annotation) Proxy.newProxyInstance(classLoader, new Class<?>[] { annotationClass }, handler);
+              // WeakHashMap keeps an old key when a value is replaced, so a stale entry is removed first to make
+              // the handler of the new annotation the key.
+              annotations.remove(handler);
+              annotations.put(handler, new WeakReference<Annotation>(annotation));
+              return (T) annotation;
+            }
           }
         }
     );
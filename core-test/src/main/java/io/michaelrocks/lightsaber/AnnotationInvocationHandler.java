@@ -28,14 +28,30 @@ import java.security.AccessController;
 import java.security.PrivilegedAction;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
 class AnnotationInvocationHandler implements InvocationHandler {
+  private static final int MAX_CACHED_ANNOTATION_CLASSES = 64;
+
+  // Declared methods are cached for recently used annotation classes only, so the cache doesn't pin an unbounded number
+  // of classes and their class loaders. Guarded by the map's monitor.
+  private static final Map<Class<?>, Method[]> declaredMethods =
+      new LinkedHashMap<Class<?>, Method[]>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<Class<?>, Method[]> eldest) {
+          return size() > MAX_CACHED_ANNOTATION_CLASSES;
+        }
+      };
+
   private final Class<? extends Annotation> annotationClass;
   private final Map<String, Member> members;
+  // Values of members never change so results of hashCode() and toString() are computed only once.
+  private final int annotationHashCode;
+  private final String annotationString;
 
   AnnotationInvocationHandler(@Nonnull final Class<? extends Annotation> annotationClass, @Nonnull final Map<String, ?> values) {
     this.annotationClass = annotationClass;
@@ -47,11 +63,13 @@ class AnnotationInvocationHandler implements InvocationHandler {
           }
         }
     );
+    this.annotationHashCode = computeHashCode();
+    this.annotationString = computeToString();
   }
 
   @Override
   public int hashCode() {
-    return 31 * annotationClass.hashCode() + invokeHashCode();
+    return 31 * annotationClass.hashCode() + annotationHashCode;
   }
 
   @Override
@@ -74,7 +92,7 @@ class AnnotationInvocationHandler implements InvocationHandler {
     for (final Member member : members.values()) {
       final String memberName = member.method.getName();
       final Member thatMember = that.members.get(memberName);
-      if (thatMember == null || !member.value.equals(thatMember.value)) {
+      if (thatMember == null || !valueEquals(member.value, thatMember.value)) {
         return false;
       }
     }
@@ -86,25 +104,25 @@ class AnnotationInvocationHandler implements InvocationHandler {
   public Object invoke(final Object proxy, final Method method, final Object[] arguments) throws Exception {
     final String methodName = method.getName();
 
-    if (method.getDeclaringClass() != annotationClass) {
-      if (methodName.equals("equals") && method.getParameterTypes().length == 1) {
-        return invokeEquals(arguments[0]);
-      } else if (methodName.equals("hashCode")) {
-        return invokeHashCode();
-      } else if (methodName.equals("toString")) {
-        return invokeToString();
-      } else if (methodName.equals("annotationType")) {
-        return annotationClass;
-      }
+    if (method.getDeclaringClass() == annotationClass) {
+      return getMember(methodName);
+    }
 
-      throw new IllegalStateException("Unexpected method is called: " + method);
+    if (methodName.equals("equals") && method.getParameterTypes().length == 1) {
+      return invokeEquals(proxy, arguments[0]);
+    } else if (methodName.equals("hashCode")) {
+      return annotationHashCode;
+    } else if (methodName.equals("toString")) {
+      return annotationString;
+    } else if (methodName.equals("annotationType")) {
+      return annotationClass;
     }
 
-    return getMember(methodName);
+    throw new IllegalStateException("Unexpected method is called: " + method);
   }
 
-  private boolean invokeEquals(@Nullable final Object other) throws Exception {
-    if (this == other) {
+  private boolean invokeEquals(@Nonnull final Object proxy, @Nullable final Object other) throws Exception {
+    if (proxy == other) {
       return true;
     } else if (!annotationClass.isInstance(other)) {
       return false;
@@ -163,7 +181,7 @@ class AnnotationInvocationHandler implements InvocationHandler {
     throw new IllegalStateException("Unknown array type " + value1Class);
   }
 
-  private int invokeHashCode() {
+  private int computeHashCode() {
     int result = 0;
     for (final Member member : members.values()) {
       result += (127 * member.method.getName().hashCode()) ^ valueHashCode(member.value);
@@ -199,7 +217,7 @@ class AnnotationInvocationHandler implements InvocationHandler {
     return Arrays.hashCode((Object[]) value);
   }
 
-  private String invokeToString() {
+  private String computeToString() {
     StringBuilder result = new StringBuilder(128);
     result.append('@');
     result.append(annotationClass.getName());
@@ -269,8 +287,7 @@ class AnnotationInvocationHandler implements InvocationHandler {
       @Nonnull final Map<String, ?> explicitValues) {
 
     final Map<String, Member> members = new HashMap<String, Member>();
-    final Method[] methods = annotationClass.getDeclaredMethods();
-    AccessibleObject.setAccessible(methods, true);
+    final Method[] methods = getDeclaredMethods(annotationClass);
 
     for (final Method method : methods) {
       final String memberName = method.getName();
@@ -296,6 +313,23 @@ class AnnotationInvocationHandler implements InvocationHandler {
     return members;
   }
 
+  @Nonnull
+  private static Method[] getDeclaredMethods(@Nonnull final Class<? extends Annotation> annotationClass) {
+    synchronized (declaredMethods) {
+      final Method[] cachedMethods = declaredMethods.get(annotationClass);
+      if (cachedMethods != null) {
+        return cachedMethods;
+      }
+    }
+
+    final Method[] methods = annotationClass.getDeclaredMethods();
+    AccessibleObject.setAccessible(methods, true);
+    synchronized (declaredMethods) {
+      declaredMethods.put(annotationClass, methods);
+    }
+    return methods;
+  }
+
   private static Object maybeCloneArray(final Object array) {
     final int length = Array.getLength(array);
     if (length == 0) {
@@ -26,6 +26,8 @@ import java.lang.annotation.RetentionPolicy;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -65,6 +67,20 @@ public class AnnotationBuilderTest {
     assertEquals(annotation, annotation);
   }
 
+  @Test
+  public void testEqualAnnotationsAreCached() {
+    final IntArrayAnnotation annotation1 =
+        new AnnotationBuilder<IntArrayAnnotation>(IntArrayAnnotation.class).addMember("value", new int[] { 1, 2 }).build();
+    final IntArrayAnnotation annotation2 =
+        new AnnotationBuilder<IntArrayAnnotation>(IntArrayAnnotation.class).addMember("value", new int[] { 1, 2 }).build();
+    final IntArrayAnnotation annotation3 =
+        new AnnotationBuilder<IntArrayAnnotation>(IntArrayAnnotation.class).addMember("value", new int[] { 2, 1 }).build();
+    assertSame(annotation1, annotation2);
+    assertNotSame(annotation1, annotation3);
+    assertEquals(annotation1.hashCode(), annotation2.hashCode());
+    assertEquals(annotation1.toString(), annotation2.toString());
+  }
+
   @Test
   public void testNotEqualsToNull() {
     final EmptyAnnotation annotation = new AnnotationBuilder<EmptyAnnotation>(EmptyAnnotation.class).build();
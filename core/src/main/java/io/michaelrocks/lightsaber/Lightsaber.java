@@ -24,13 +24,17 @@ import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.inject.Provider;
 
+import io.michaelrocks.lightsaber.internal.IterableMap;
 import io.michaelrocks.lightsaber.internal.LightsaberInjector;
+import io.michaelrocks.lightsaber.internal.PolymorphicKeyHashMap;
 
 public class Lightsaber {
   private final List<ProviderInterceptor> interceptors;
+  private final IterableMap<Object, Provider<?>> overrides;
 
   Lightsaber(final Builder builder) {
     interceptors = builder.interceptors == null ? null : new ArrayList<ProviderInterceptor>(builder.interceptors);
+    overrides = copyOverrides(builder.overrides);
   }
 
   /**
@@ -50,7 +54,7 @@ public class Lightsaber {
 
   @Nonnull
   public Injector createInjector(@Nonnull final Object component) {
-    return new LightsaberInjector(component, null, interceptors);
+    return new LightsaberInjector(component, null, interceptors, overrides);
   }
 
   /** @deprecated Use {@link Injector#createChildInjector(Object)} instead. */
@@ -65,7 +69,34 @@ public class Lightsaber {
       throw new IllegalArgumentException("Cannot create a child injector for a non-Lightsaber injector");
     }
 
-    return new LightsaberInjector(component, (LightsaberInjector) parentInjector, interceptors);
+    return new LightsaberInjector(component, (LightsaberInjector) parentInjector, interceptors, overrides);
+  }
+
+  /**
+   * Registers providers of a module in an injector created by Lightsaber. The injector can be used concurrently while
+   * the module is being added and the providers of the module become visible to other threads all at once. Lookups
+   * through child injectors see the providers too. Providers registered in ancestors of the injector keep resolving
+   * their dependencies in the injectors they're registered in, so they never use the providers of the added module.
+   *
+   * @param injector
+   *     The injector to add the module to.
+   * @param module
+   *     The module to add. It must be processed by Lightsaber and dependencies it provides must not be registered in
+   *     the injector yet. Components cannot be added, create child injectors for them instead.
+   * @throws ConfigurationException
+   *     If a dependency of the module is already provided by the injector. The injector is left unchanged in this case.
+   */
+  public static void addModule(@Nonnull final Injector injector, @Nonnull final Object module) {
+    // noinspection ConstantConditions
+    if (injector == null) {
+      throw new NullPointerException("Injector cannot be null");
+    }
+
+    if (!(injector instanceof LightsaberInjector)) {
+      throw new IllegalArgumentException("Cannot add a module to a non-Lightsaber injector");
+    }
+
+    ((LightsaberInjector) injector).addModule(module);
   }
 
   @Nonnull
@@ -90,14 +121,26 @@ public class Lightsaber {
     return injector.getProvider(Key.of(type, annotation));
   }
 
+  private static IterableMap<Object, Provider<?>> copyOverrides(final IterableMap<Object, Provider<?>> overrides) {
+    if (overrides == null) {
+      return null;
+    }
+
+    final IterableMap<Object, Provider<?>> copy = new PolymorphicKeyHashMap<Provider<?>>(overrides.size());
+    copy.putAll(overrides);
+    return copy;
+  }
+
   public static class Builder {
     private List<ProviderInterceptor> interceptors;
+    private IterableMap<Object, Provider<?>> overrides;
 
     public Builder() {
     }
 
     Builder(@Nonnull final Lightsaber lightsaber) {
       interceptors = lightsaber.interceptors == null ? null : new ArrayList<ProviderInterceptor>(lightsaber.interceptors);
+      overrides = copyOverrides(lightsaber.overrides);
     }
 
     /**
@@ -105,6 +148,7 @@ public class Lightsaber {
      * <p>
      * <strong>WARNING!</strong> Provider interception affects performance negatively. If a single interceptor is added each dependency resolution
      * produces at least two additional allocations even if it's not affected by the interceptor.
+     * Use {@link #overrideProvider(Key, Provider)} if providers don't have to be replaced dynamically.
      * </p>
      *
      * @param interceptor
@@ -126,6 +170,66 @@ public class Lightsaber {
       return this;
     }
 
+    /**
+     * Replaces a provider for a class in every injector created by the {@link Lightsaber} instance. Unlike a
+     * {@link ProviderInterceptor} an override is applied once when the provider is registered so it doesn't affect
+     * performance of dependency resolution.
+     *
+     * @param type
+     *     The class which provider should be replaced.
+     * @param provider
+     *     The {@link Provider} to use instead of the provider registered by a module.
+     * @return The current {@link Builder} instance.
+     */
+    @Nonnull
+    public <T> Builder overrideProvider(@Nonnull final Class<T> type, @Nonnull final Provider<? extends T> provider) {
+      return overrideProvider(Key.of(type), provider);
+    }
+
+    /**
+     * Replaces a provider for a key in every injector created by the {@link Lightsaber} instance. Unlike a
+     * {@link ProviderInterceptor} an override is applied once when the provider is registered so it doesn't affect
+     * performance of dependency resolution. If no module of a root injector provides the key the override is
+     * registered in the root injector, so it can be resolved by the root injector and all its children.
+     * <p>
+     * The {@link Injector} itself cannot be overridden.
+     * </p>
+     *
+     * @param key
+     *     The {@link Key} which provider should be replaced.
+     * @param provider
+     *     The {@link Provider} to use instead of the provider registered by a module.
+     * @return The current {@link Builder} instance.
+     * @throws IllegalArgumentException
+     *     If the provider for the key is already overridden or the key is a key of {@link Injector}.
+     */
+    @Nonnull
+    public <T> Builder overrideProvider(@Nonnull final Key<T> key, @Nonnull final Provider<? extends T> provider) {
+      // noinspection ConstantConditions
+      if (key == null) {
+        throw new NullPointerException("Key is null");
+      }
+      // noinspection ConstantConditions
+      if (provider == null) {
+        throw new NullPointerException("Provider is null");
+      }
+
+      if (Injector.class.equals(key.getType())) {
+        throw new IllegalArgumentException("Provider for " + key + " cannot be overridden");
+      }
+
+      if (overrides == null) {
+        overrides = new PolymorphicKeyHashMap<Provider<?>>();
+      }
+
+      // Overrides are keyed in the same way as providers in an injector.
+      final Object overrideKey = key.getQualifier() != null ? key : key.getType();
+      if (overrides.put(overrideKey, provider) != null) {
+        throw new IllegalArgumentException("Provider for " + key + " is already overridden");
+      }
+      return this;
+    }
+
     @Nonnull
     public Lightsaber build() {
       return new Lightsaber(this);
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2020 Michael Rozumyanskiy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.michaelrocks.lightsaber.internal;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Assigns stable dense indices to classes that are used as keys of providers. Injectors keep providers for class keys
+ * in arrays indexed by these indices so {@link LightsaberInjector#getProvider(Class)} doesn't have to hash and compare
+ * polymorphic keys.
+ * <p>
+ * An index is shared by a root injector and all its descendants, so the indices stay dense within an injector tree and
+ * the classes are released together with the tree. Indices are allocated only for classes that have providers
+ * registered for them.
+ */
+public class ClassIndex {
+  private final ConcurrentMap<Class<?>, Integer> indices = new ConcurrentHashMap<Class<?>, Integer>();
+  private final AtomicInteger nextIndex = new AtomicInteger();
+
+  public int getIndex(final Class<?> type) {
+    final Integer index = indices.get(type);
+    return index != null ? index : allocateIndex(type);
+  }
+
+  /**
+   * Returns an index of a class or -1 if the class has never been registered in any injector of the tree.
+   */
+  public int findIndex(final Class<?> type) {
+    final Integer index = indices.get(type);
+    return index != null ? index : -1;
+  }
+
+  private int allocateIndex(final Class<?> type) {
+    final Integer newIndex = nextIndex.getAndIncrement();
+    final Integer oldIndex = indices.putIfAbsent(type, newIndex);
+    return oldIndex != null ? oldIndex : newIndex;
+  }
+}
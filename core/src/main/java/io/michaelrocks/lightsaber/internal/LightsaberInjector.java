@@ -22,6 +22,7 @@ import java.util.List;
 import javax.annotation.Nonnull;
 import javax.inject.Provider;
 
+import io.michaelrocks.lightsaber.Component;
 import io.michaelrocks.lightsaber.ConfigurationException;
 import io.michaelrocks.lightsaber.Injector;
 import io.michaelrocks.lightsaber.Key;
@@ -30,20 +31,43 @@ import io.michaelrocks.lightsaber.ProviderInterceptor;
 public class LightsaberInjector implements Injector {
   private final LightsaberInjector parent;
   private final List<ProviderInterceptor> interceptors;
-  private final IterableMap<Object, Provider<?>> providers = new PolymorphicKeyHashMap<Provider<?>>();
+  private final IterableMap<Object, Provider<?>> overrides;
+  private final SingletonStorage singletonStorage = new SingletonStorage();
+  private final ClassIndex classIndex;
+  // Providers are published as copy-on-write snapshots so lookups never block, even while modules are being added.
+  private volatile ProviderTable providerTable;
+  // A table that receives registrations while the injector is being configured. Guarded by this injector's monitor.
+  private ProviderTable pendingProviderTable;
 
   public LightsaberInjector(@Nonnull final Object component, final LightsaberInjector parent, final List<ProviderInterceptor> interceptors) {
+    this(component, parent, interceptors, null);
+  }
+
+  public LightsaberInjector(@Nonnull final Object component, final LightsaberInjector parent, final List<ProviderInterceptor> interceptors,
+      final IterableMap<Object, Provider<?>> overrides) {
     this.parent = parent;
     this.interceptors = interceptors;
-    registerProvider(Injector.class, new Provider<Injector>() {
+    this.overrides = overrides;
+    this.classIndex = parent != null ? parent.classIndex : new ClassIndex();
+    // The initial table is filled in place since the injector isn't published until the constructor returns.
+    providerTable = new ProviderTable();
+    pendingProviderTable = providerTable;
+    // The injector itself cannot be overridden so it's registered bypassing the overrides.
+    final Provider<Injector> injectorProvider = new Provider<Injector>() {
       @Override
       public Injector get() {
         return LightsaberInjector.this;
       }
-    });
+    };
+    providerTable.providers.put(Injector.class, injectorProvider);
+    providerTable.registerClassProvider(classIndex.getIndex(Injector.class), injectorProvider);
 
     final InjectorConfigurator configurator = (InjectorConfigurator) component;
     configurator.configureInjector(this);
+    if (parent == null) {
+      registerUnclaimedOverrides();
+    }
+    pendingProviderTable = null;
   }
 
   @Nonnull
@@ -54,7 +78,38 @@ public class LightsaberInjector implements Injector {
       throw new NullPointerException("Trying to create an injector with a null component");
     }
 
-    return new LightsaberInjector(component, this, interceptors);
+    return new LightsaberInjector(component, this, interceptors, overrides);
+  }
+
+  /**
+   * Registers providers of a module in this injector.
+   *
+   * @see io.michaelrocks.lightsaber.Lightsaber#addModule(Injector, Object)
+   */
+  public synchronized void addModule(@Nonnull final Object module) {
+    // noinspection ConstantConditions
+    if (module == null) {
+      throw new NullPointerException("Trying to add a null module");
+    }
+
+    if (module.getClass().isAnnotationPresent(Component.class)) {
+      throw new IllegalArgumentException(
+          "Cannot add component " + module + " to an injector, create a child injector for it instead");
+    }
+
+    if (!(module instanceof InjectorConfigurator)) {
+      throw new IllegalArgumentException("Cannot add " + module + " to an injector since it isn't a module");
+    }
+
+    // Providers of the module are registered in a copy of the table, which is published only if all of them have been
+    // registered successfully.
+    pendingProviderTable = new ProviderTable(providerTable);
+    try {
+      ((InjectorConfigurator) module).configureInjector(this);
+      providerTable = pendingProviderTable;
+    } finally {
+      pendingProviderTable = null;
+    }
   }
 
   @Override
@@ -88,6 +143,14 @@ public class LightsaberInjector implements Injector {
   @Nonnull
   @Override
   public <T> Provider<T> getProvider(@Nonnull final Class<? extends T> type) {
+    if (interceptors == null) {
+      // noinspection unchecked
+      final Provider<T> provider = (Provider<T>) findClassProvider(type);
+      if (provider != null) {
+        return provider;
+      }
+    }
+
     return getProvider((Type) type);
   }
 
@@ -119,7 +182,27 @@ public class LightsaberInjector implements Injector {
 
   @Nonnull
   public IterableMap<Object, Provider<?>> getProviders() {
-    return providers;
+    return providerTable.providers;
+  }
+
+  @Nonnull
+  public SingletonStorage getSingletonStorage() {
+    return singletonStorage;
+  }
+
+  public boolean hasProviderInterceptors() {
+    return interceptors != null;
+  }
+
+  /**
+   * Checks whether generated providers can create their unscoped dependencies directly. They can do it only when
+   * neither interceptors nor overrides may replace the providers of the dependencies. Modules added with
+   * {@link #addModule(Object)} don't affect inlining: an inlined dependency is always provided by the injector the
+   * provider is registered in, so it cannot be registered there again, and modules added to child injectors are never
+   * visible to the provider.
+   */
+  public boolean isDependencyInliningEnabled() {
+    return interceptors == null && overrides == null;
   }
 
   public <T> void registerProvider(final Class<? extends T> type, final Provider<? extends T> provider) {
@@ -138,10 +221,42 @@ public class LightsaberInjector implements Injector {
     }
   }
 
+  /**
+   * Registers an override for a class if there's one. Generated configurators call it before creating a provider so
+   * a provider that would be replaced by an override is never created.
+   *
+   * @return {@code true} if an override has been registered and the provider for the class mustn't be registered.
+   */
+  public boolean registerOverride(final Class<?> type) {
+    return registerOverrideInternal(type);
+  }
+
+  /**
+   * Registers an override for a type if there's one.
+   *
+   * @see #registerOverride(Class)
+   */
+  public boolean registerOverride(final Type type) {
+    return registerOverrideInternal(type);
+  }
+
+  /**
+   * Registers an override for a key if there's one.
+   *
+   * @see #registerOverride(Class)
+   */
+  public boolean registerOverride(final Key<?> key) {
+    if (key.getQualifier() != null) {
+      return registerOverrideInternal(key);
+    } else {
+      return registerOverrideInternal(key.getType());
+    }
+  }
+
   @Nonnull
   private <T> Provider<T> getProviderInternal(@Nonnull final Object key) {
     // noinspection unchecked
-    final Provider<T> provider = (Provider<T>) providers.get(key);
+    final Provider<T> provider = (Provider<T>) providerTable.providers.get(key);
     if (provider == null) {
       if (parent != null) {
         try {
@@ -157,11 +272,78 @@ public class LightsaberInjector implements Injector {
     return provider;
   }
 
+  private Provider<?> findClassProvider(final Class<?> type) {
+    final int index = classIndex.findIndex(type);
+    if (index < 0) {
+      return null;
+    }
+
+    for (LightsaberInjector injector = this; injector != null; injector = injector.parent) {
+      final Provider<?>[] classProviders = injector.providerTable.classProviders;
+      if (index < classProviders.length && classProviders[index] != null) {
+        return classProviders[index];
+      }
+    }
+    return null;
+  }
+
+  private boolean registerOverrideInternal(final Object key) {
+    final Provider<?> override = overrides == null ? null : overrides.get(key);
+    if (override == null) {
+      return false;
+    }
+
+    registerProviderInternal(key, override);
+    return true;
+  }
+
   private <T> void registerProviderInternal(final Object key, final Provider<? extends T> provider) {
-    final Provider<?> oldProvider = providers.put(key, provider);
+    final ProviderTable table = pendingProviderTable;
+    if (table == null) {
+      throw new IllegalStateException("Providers can be registered only while " + this + " is being configured");
+    }
+
+    final Provider<?> override = overrides == null ? null : overrides.get(key);
+    if (override != null && table.unclaimedOverrideKeys != null
+        && Boolean.TRUE.equals(table.unclaimedOverrideKeys.get(key))) {
+      // The override has already been registered on its own and now a module claims it.
+      table.unclaimedOverrideKeys.put(key, Boolean.FALSE);
+      return;
+    }
+
+    final Provider<?> actualProvider = override != null ? override : provider;
+    final Provider<?> oldProvider = table.providers.put(key, actualProvider);
     if (oldProvider != null) {
       throw new ConfigurationException("Provider for " + key + " already registered in " + this);
     }
+
+    if (key instanceof Class<?>) {
+      table.registerClassProvider(classIndex.getIndex((Class<?>) key), actualProvider);
+    }
+  }
+
+  /**
+   * Registers overrides for keys no module of the root injector provides. This way an override is never ignored
+   * silently: it either replaces a provider or becomes available from the root injector and all its children. A module
+   * added to the injector later may still provide such a key and the override stays in effect for it.
+   */
+  private void registerUnclaimedOverrides() {
+    if (overrides == null) {
+      return;
+    }
+
+    final ProviderTable table = pendingProviderTable;
+    final MapIterator<Object, Provider<?>> iterator = overrides.iterator();
+    while (iterator.hasNext()) {
+      final Object key = iterator.next();
+      if (!table.providers.containsKey(key)) {
+        registerProviderInternal(key, iterator.getValue());
+        if (table.unclaimedOverrideKeys == null) {
+          table.unclaimedOverrideKeys = new PolymorphicKeyHashMap<Boolean>();
+        }
+        table.unclaimedOverrideKeys.put(key, Boolean.TRUE);
+      }
+    }
   }
 
   private void throwConfigurationException(@Nonnull final Object key, final Throwable cause) {
@@ -203,4 +385,35 @@ public class LightsaberInjector implements Injector {
       }
     }
   }
+
+  private static final class ProviderTable {
+    final IterableMap<Object, Provider<?>> providers;
+    Provider<?>[] classProviders;
+    // Keys of overrides registered in the root injector mapped to whether no module has provided them yet.
+    IterableMap<Object, Boolean> unclaimedOverrideKeys;
+
+    ProviderTable() {
+      providers = new PolymorphicKeyHashMap<Provider<?>>();
+      classProviders = new Provider<?>[0];
+    }
+
+    ProviderTable(@Nonnull final ProviderTable table) {
+      providers = new PolymorphicKeyHashMap<Provider<?>>(table.providers.size() * 2);
+      providers.putAll(table.providers);
+      classProviders = table.classProviders.clone();
+      if (table.unclaimedOverrideKeys != null) {
+        unclaimedOverrideKeys = new PolymorphicKeyHashMap<Boolean>(table.unclaimedOverrideKeys.size() * 2);
+        unclaimedOverrideKeys.putAll(table.unclaimedOverrideKeys);
+      }
+    }
+
+    void registerClassProvider(final int index, final Provider<?> provider) {
+      if (index >= classProviders.length) {
+        final Provider<?>[] newClassProviders = new Provider<?>[Math.max(index + 1, classProviders.length * 2)];
+        System.arraycopy(classProviders, 0, newClassProviders, 0, classProviders.length);
+        classProviders = newClassProviders;
+      }
+      classProviders[index] = provider;
+    }
+  }
 }
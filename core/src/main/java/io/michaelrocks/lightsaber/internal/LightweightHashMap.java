@@ -25,6 +25,11 @@ import java.util.Set;
 
 import javax.annotation.Nonnull;
 
+/**
+ * An add-only open addressing hash map. Collisions are resolved with Robin Hood hashing: an inserted key takes a slot
+ * from a key that is closer to its home slot, which keeps probe lengths short and evenly distributed. Hashes of keys
+ * are stored along with the keys so a lookup compares keys only when their hashes are equal.
+ */
 public class LightweightHashMap<K, V> implements IterableMap<K, V> {
   private static final int DEFAULT_CAPACITY = 16;
   private static final float DEFAULT_LOAD_FACTOR = 0.7f;
@@ -33,6 +38,7 @@ public class LightweightHashMap<K, V> implements IterableMap<K, V> {
   private final transient float loadFactor;
   private transient int size;
   private transient Object[] data;
+  private transient int[] hashes;
   private transient int threshold;
   private transient int modificationCount;
 
@@ -48,6 +54,7 @@ public class LightweightHashMap<K, V> implements IterableMap<K, V> {
     final int capacity = calculateNewCapacity(initialCapacity);
     this.loadFactor = loadFactor;
     this.data = new Object[capacity << 1];
+    this.hashes = new int[capacity];
     this.threshold = calculateThreshold(capacity, loadFactor);
   }
 
@@ -63,8 +70,7 @@ public class LightweightHashMap<K, V> implements IterableMap<K, V> {
 
   @Override
   public boolean containsKey(final Object key) {
-    final int index = findInTable(key);
-    return getKeyAt(index) != null;
+    return findInTable(key, hash(key)) != -1;
   }
 
   @Override
@@ -86,7 +92,7 @@ public class LightweightHashMap<K, V> implements IterableMap<K, V> {
 
   @Override
   public V get(final Object key) {
-    final int index = findInTable(key);
+    final int index = findInTable(key, hash(key));
     if (index == -1) {
       return null;
     }
@@ -99,12 +105,8 @@ public class LightweightHashMap<K, V> implements IterableMap<K, V> {
   public V put(final K key, final V value) {
     modificationCount++;
     maybeEnsureCapacity();
-    final int index = findInTable(key);
-    if (index == -1) {
-      throw new IllegalStateException("Map is full");
-    }
     // noinspection unchecked
-    return (V) setValueAt(index, key, value);
+    return (V) putInTable(key, value);
   }
 
   @Override
@@ -125,18 +127,11 @@ public class LightweightHashMap<K, V> implements IterableMap<K, V> {
       final MapIterator<? extends K, ? extends V> iterator = ((IterableMap<? extends K, ? extends V>) map).iterator();
       while (iterator.hasNext()) {
         final Object key = iterator.next();
-        final int index = findInTable(key);
-        if (index != -1) {
-          setValueAt(index, key, iterator.getValue());
-        }
+        putInTable(key, iterator.getValue());
       }
     } else {
       for (final Map.Entry<? extends K, ? extends V> entry : map.entrySet()) {
-        final Object key = entry.getKey();
-        final int index = findInTable(key);
-        if (index != -1) {
-          setValueAt(index, key, entry.getValue());
-        }
+        putInTable(entry.getKey(), entry.getValue());
       }
     }
   }
@@ -255,28 +250,119 @@ public class LightweightHashMap<K, V> implements IterableMap<K, V> {
     return key1 == key2 || (key1 != null && key1.equals(key2));
   }
 
-  private int findInTable(final Object key) {
-    final int fromIndex = hashIndex(key);
-    final int index = findInRange(key, fromIndex, data.length >>> 1);
-    if (index != -1) {
-      return index;
+  /**
+   * Returns the longest distance between a slot of a key and its home slot. Intended for diagnostics.
+   */
+  public int getMaxProbeLength() {
+    int maxProbeLength = 0;
+    for (int i = 0, count = hashes.length; i < count; ++i) {
+      if (getKeyAt(i) != null) {
+        maxProbeLength = Math.max(maxProbeLength, getProbeLength(hashes[i], i));
+      }
     }
-    return findInRange(key, 0, fromIndex);
+    return maxProbeLength;
   }
 
-  private int findInRange(final Object key, final int fromIndex, final int toIndex) {
-    for (int i = fromIndex; i < toIndex; ++i) {
-      final Object currentKey = getKeyAt(i);
-      if (currentKey == null || (currentKey == Null.VALUE && key == null) || areKeysEqual(currentKey, key)) {
-        return i;
+  /**
+   * Returns the average distance between slots of keys and their home slots. Intended for diagnostics.
+   */
+  public float getAverageProbeLength() {
+    if (size == 0) {
+      return 0f;
+    }
+
+    long totalProbeLength = 0;
+    for (int i = 0, count = hashes.length; i < count; ++i) {
+      if (getKeyAt(i) != null) {
+        totalProbeLength += getProbeLength(hashes[i], i);
       }
     }
+    return (float) totalProbeLength / size;
+  }
+
+  private int hash(final Object key) {
+    final int hashCode = hashCode(key);
+    return hashCode ^ (hashCode >>> 16);
+  }
+
+  private int findInTable(final Object key, final int hash) {
+    final int mask = hashes.length - 1;
+    int index = hash & mask;
+    for (int probeLength = 0; ; ++probeLength) {
+      final Object currentKey = getKeyAt(index);
+      // With Robin Hood hashing a key cannot be farther from its home slot than the keys it has passed by.
+      if (currentKey == null || getProbeLength(hashes[index], index) < probeLength) {
+        return -1;
+      }
+      if (hashes[index] == hash && isKeyAt(currentKey, key)) {
+        return index;
+      }
+      index = (index + 1) & mask;
+    }
+  }
+
+  private boolean isKeyAt(final Object currentKey, final Object key) {
+    if (currentKey == Null.VALUE) {
+      return key == null;
+    }
+    return key != null && areKeysEqual(currentKey, key);
+  }
+
+  private Object putInTable(final Object key, final Object value) {
+    final int hash = hash(key);
+    final int index = findInTable(key, hash);
+    if (index != -1) {
+      final int valueIndex = (index << 1) + 1;
+      final Object oldValue = data[valueIndex];
+      data[valueIndex] = value == null ? Null.VALUE : value;
+      return oldValue == Null.VALUE ? null : oldValue;
+    }
 
-    return -1;
+    if (size >= hashes.length) {
+      throw new IllegalStateException("Map is full");
+    }
+    insertIntoTable(key == null ? Null.VALUE : key, value == null ? Null.VALUE : value, hash);
+    size++;
+    return null;
+  }
+
+  private void insertIntoTable(final Object escapedKey, final Object escapedValue, final int hash) {
+    final int mask = hashes.length - 1;
+    Object key = escapedKey;
+    Object value = escapedValue;
+    int keyHash = hash;
+    int index = keyHash & mask;
+    int probeLength = 0;
+    while (true) {
+      final int keyIndex = index << 1;
+      if (data[keyIndex] == null) {
+        data[keyIndex] = key;
+        data[keyIndex + 1] = value;
+        hashes[index] = keyHash;
+        return;
+      }
+
+      final int currentProbeLength = getProbeLength(hashes[index], index);
+      if (currentProbeLength < probeLength) {
+        final Object currentKey = data[keyIndex];
+        final Object currentValue = data[keyIndex + 1];
+        final int currentHash = hashes[index];
+        data[keyIndex] = key;
+        data[keyIndex + 1] = value;
+        hashes[index] = keyHash;
+        key = currentKey;
+        value = currentValue;
+        keyHash = currentHash;
+        probeLength = currentProbeLength;
+      }
+
+      index = (index + 1) & mask;
+      probeLength += 1;
+    }
   }
 
-  private int hashIndex(final Object key) {
-    return hashCode(key) & ((data.length >>> 1) - 1);
+  private int getProbeLength(final int hash, final int index) {
+    return (index - hash) & (hashes.length - 1);
   }
 
   private Object getKeyAt(final int index) {
@@ -287,18 +373,6 @@ public class LightweightHashMap<K, V> implements IterableMap<K, V> {
     return data[(index << 1) + 1];
   }
 
-  private Object setValueAt(final int index, final Object key, final Object value) {
-    final int keyIndex = index << 1;
-    data[keyIndex] = key == null ? Null.VALUE : key;
-    final Object oldValue = data[keyIndex + 1];
-    data[keyIndex + 1] = value == null ? Null.VALUE : value;
-    if (oldValue == null) {
-      size++;
-    }
-    // noinspection unchecked
-    return oldValue == Null.VALUE ? null : (V) oldValue;
-  }
-
   private void maybeEnsureCapacity() {
     if (size >= threshold) {
       final int newCapacity = data.length;
@@ -315,22 +389,21 @@ public class LightweightHashMap<K, V> implements IterableMap<K, V> {
     if (size == 0) {
       threshold = calculateThreshold(newCapacity, loadFactor);
       data = new Object[newCapacity << 1];
+      hashes = new int[newCapacity];
     } else {
       final Object[] oldData = data;
+      final int[] oldHashes = hashes;
       data = new Object[newCapacity << 1];
+      hashes = new int[newCapacity];
       threshold = calculateThreshold(newCapacity, loadFactor);
 
-      for (int i = 0, count = oldData.length; i < count; i += 2) {
-        final Object escapedKey = oldData[i];
+      for (int i = 0, count = oldHashes.length; i < count; ++i) {
+        final int keyIndex = i << 1;
+        final Object escapedKey = oldData[keyIndex];
         if (escapedKey != null) {
-          final Object key = escapedKey == Null.VALUE ? null : escapedKey;
-          final int index = findInTable(key);
-          final int keyIndex = index << 1;
-          data[keyIndex] = escapedKey;
-          data[keyIndex + 1] = oldData[i + 1];
-
-          oldData[i] = null;
-          oldData[i + 1] = null;
+          insertIntoTable(escapedKey, oldData[keyIndex + 1], oldHashes[i]);
+          oldData[keyIndex] = null;
+          oldData[keyIndex + 1] = null;
         }
       }
     }
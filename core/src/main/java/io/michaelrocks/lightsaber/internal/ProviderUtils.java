@@ -0,0 +1,40 @@
+/*
+ * Copyright 2020 Michael Rozumyanskiy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.michaelrocks.lightsaber.internal;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Helpers called by generated providers. Error handling lives here so the bodies of generated methods stay small
+ * enough to be inlined by JIT.
+ */
+public class ProviderUtils {
+  private ProviderUtils() {
+  }
+
+  @Nonnull
+  public static Object checkProvidedInstance(final Object instance) {
+    if (instance == null) {
+      throw newProvidedNullException();
+    }
+    return instance;
+  }
+
+  private static NullPointerException newProvidedNullException() {
+    return new NullPointerException("Provider method returned null");
+  }
+}
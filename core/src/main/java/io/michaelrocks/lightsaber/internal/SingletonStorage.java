@@ -0,0 +1,69 @@
+/*
+ * Copyright 2020 Michael Rozumyanskiy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.michaelrocks.lightsaber.internal;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Stores instances of singletons provided by an injector. Each singleton provider allocates a slot in the storage
+ * of its injector when it's created and then reads the slot directly, so a singleton doesn't need its own wrapping
+ * provider and lock object.
+ * <p>
+ * Slots are grouped into chunks that are never copied, so a slot can be set while the storage grows. The storage
+ * doesn't lock slots itself. A slot must be initialized while holding the monitor of the provider that allocated it,
+ * so singletons are created independently of each other like with a lock per singleton.
+ */
+public class SingletonStorage {
+  private static final int CHUNK_SHIFT = 6;
+  private static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+  private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+  private volatile AtomicReferenceArray<Object>[] chunks = newChunks(1);
+  private int size;
+
+  public synchronized int allocateSlot() {
+    final int slot = size;
+    size += 1;
+    final int chunkIndex = slot >>> CHUNK_SHIFT;
+    final AtomicReferenceArray<Object>[] oldChunks = chunks;
+    if (chunkIndex >= oldChunks.length) {
+      final AtomicReferenceArray<Object>[] newChunks = newChunks(chunkIndex + 1);
+      System.arraycopy(oldChunks, 0, newChunks, 0, oldChunks.length);
+      chunks = newChunks;
+    }
+    return slot;
+  }
+
+  public Object get(final int slot) {
+    return chunks[slot >>> CHUNK_SHIFT].get(slot & CHUNK_MASK);
+  }
+
+  /**
+   * Stores an instance of a singleton in a slot. Must be called while holding the monitor of the provider that
+   * allocated the slot.
+   */
+  public void set(final int slot, final Object instance) {
+    chunks[slot >>> CHUNK_SHIFT].set(slot & CHUNK_MASK, instance);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static AtomicReferenceArray<Object>[] newChunks(final int count) {
+    final AtomicReferenceArray<Object>[] chunks = new AtomicReferenceArray[count];
+    chunks[count - 1] = new AtomicReferenceArray<Object>(CHUNK_SIZE);
+    return chunks;
+  }
+}
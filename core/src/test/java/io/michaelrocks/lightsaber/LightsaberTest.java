@@ -28,7 +28,10 @@ import io.michaelrocks.lightsaber.internal.InjectorConfigurator;
 import io.michaelrocks.lightsaber.internal.LightsaberInjector;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
@@ -49,6 +52,8 @@ public class LightsaberTest {
     assertSame(injector, injector.getInstance(Key.of(Injector.class)));
     assertEquals("Parent String", injector.getInstance(String.class));
     assertEquals("Parent String", injector.getInstance(Key.of(String.class)));
+    assertFalse(((LightsaberInjector) injector).hasProviderInterceptors());
+    assertTrue(((LightsaberInjector) injector).isDependencyInliningEnabled());
   }
 
   @Test
@@ -113,6 +118,7 @@ public class LightsaberTest {
     final Injector injector = lightsaber.createInjector(parentComponent);
     final Injector childInjector = injector.createChildInjector(childAnnotatedComponent);
 
+    assertTrue(((LightsaberInjector) childInjector).hasProviderInterceptors());
     assertEquals("StringInstanceClass", childInjector.getInstance(String.class));
     assertEquals("StringInstanceKey", childInjector.getInstance(Key.of(String.class)));
     assertEquals("StringProviderClass", childInjector.getProvider(String.class).get());
@@ -127,6 +133,163 @@ public class LightsaberTest {
     assertEquals("Child Annotated String", childInjector.getInstance(Key.of(String.class, annotation)));
   }
 
+  @Test
+  public void testOverrideProvider() {
+    final Lightsaber lightsaber = new Lightsaber.Builder()
+        .overrideProvider(String.class, new Provider<String>() {
+          @Override
+          public String get() {
+            return "Override String";
+          }
+        })
+        .overrideProvider(Key.of(String.class, createNamedAnnotation("Annotated")), new Provider<String>() {
+          @Override
+          public String get() {
+            return "Override Annotated String";
+          }
+        })
+        .build();
+
+    final Injector injector = lightsaber.createInjector(createParentComponent());
+    final Injector childInjector = injector.createChildInjector(createChildAnnotatedComponent());
+
+    assertEquals("Override String", injector.getInstance(String.class));
+    assertEquals("Override String", injector.getInstance(Key.of(String.class)));
+    final Named annotation = createNamedAnnotation("Annotated");
+    assertEquals("Override Annotated String", childInjector.getInstance(Key.of(String.class, annotation)));
+    assertFalse(((LightsaberInjector) injector).hasProviderInterceptors());
+    assertFalse(((LightsaberInjector) injector).isDependencyInliningEnabled());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testOverrideProviderTwice() {
+    final Provider<String> provider = new Provider<String>() {
+      @Override
+      public String get() {
+        return "Override String";
+      }
+    };
+    new Lightsaber.Builder()
+        .overrideProvider(String.class, provider)
+        .overrideProvider(Key.of(String.class), provider);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testOverrideInjectorProvider() {
+    new Lightsaber.Builder()
+        .overrideProvider(Injector.class, new Provider<Injector>() {
+          @Override
+          public Injector get() {
+            return mock(Injector.class);
+          }
+        });
+  }
+
+  @Test
+  public void testOverrideProviderWithoutModuleProvider() {
+    final Lightsaber lightsaber = new Lightsaber.Builder()
+        .overrideProvider(Object.class, new Provider<Object>() {
+          @Override
+          public Object get() {
+            return "Override Object";
+          }
+        })
+        .build();
+
+    final Injector injector = lightsaber.createInjector(createParentComponent());
+    final Injector childInjector = injector.createChildInjector(createChildAnnotatedComponent());
+
+    assertEquals("Override Object", injector.getInstance(Object.class));
+    assertEquals("Override Object", childInjector.getInstance(Key.of(Object.class)));
+
+    Lightsaber.addModule(injector, createChildComponent());
+
+    assertEquals("Override Object", injector.getInstance(Object.class));
+    assertEquals("Override Object", childInjector.getInstance(Object.class));
+
+    try {
+      Lightsaber.addModule(injector, createChildComponent());
+      fail("ConfigurationException expected");
+    } catch (final ConfigurationException exception) {
+      // Expected.
+    }
+  }
+
+  @Test
+  public void testRegisterOverride() {
+    final Lightsaber lightsaber = new Lightsaber.Builder()
+        .overrideProvider(String.class, new Provider<String>() {
+          @Override
+          public String get() {
+            return "Override String";
+          }
+        })
+        .build();
+    final InjectorConfigurator component = mock(InjectorConfigurator.class);
+    doAnswer(new Answer<Object>() {
+      @Override
+      public Object answer(final InvocationOnMock invocation) {
+        final LightsaberInjector injector = (LightsaberInjector) invocation.getArguments()[0];
+        assertTrue(injector.registerOverride(String.class));
+        assertFalse(injector.registerOverride(Key.of(Object.class)));
+        return null;
+      }
+    })
+        .when(component).configureInjector(any(LightsaberInjector.class));
+
+    final Injector injector = lightsaber.createInjector(component);
+
+    verify(component).configureInjector((LightsaberInjector) injector);
+    assertEquals("Override String", injector.getInstance(String.class));
+  }
+
+  @Test
+  public void testAddModule() {
+    final Lightsaber lightsaber = new Lightsaber.Builder().build();
+    final InjectorConfigurator parentComponent = createParentComponent();
+    final InjectorConfigurator module = createChildComponent();
+
+    final Injector injector = lightsaber.createInjector(parentComponent);
+    final Injector childInjector = injector.createChildInjector(createChildAnnotatedComponent());
+    Lightsaber.addModule(injector, module);
+
+    verify(module).configureInjector((LightsaberInjector) injector);
+    verifyNoMoreInteractions(module);
+    assertEquals("Parent String", injector.getInstance(String.class));
+    assertEquals("Child Object", injector.getInstance(Object.class));
+    assertEquals("Child Object", injector.getInstance(Key.of(Object.class)));
+    assertEquals("Child Object", childInjector.getInstance(Object.class));
+  }
+
+  @Test
+  public void testAddModuleWithDuplicateProvider() {
+    final Lightsaber lightsaber = new Lightsaber.Builder().build();
+    final Injector injector = lightsaber.createInjector(createChildComponent());
+    Lightsaber.addModule(injector, createParentComponent());
+
+    try {
+      Lightsaber.addModule(injector, createChildComponent());
+      fail("ConfigurationException expected");
+    } catch (final ConfigurationException exception) {
+      // Expected.
+    }
+
+    assertEquals("Parent String", injector.getInstance(String.class));
+    assertEquals("Child Object", injector.getInstance(Object.class));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testAddComponentAsModule() {
+    final Lightsaber lightsaber = new Lightsaber.Builder().build();
+    final Injector injector = lightsaber.createInjector(createParentComponent());
+    Lightsaber.addModule(injector, new AnnotatedComponent());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testAddModuleToNonLightsaberInjector() {
+    Lightsaber.addModule(mock(Injector.class), createChildComponent());
+  }
+
   private static InjectorConfigurator createParentComponent() {
     final InjectorConfigurator configurator = mock(InjectorConfigurator.class);
     doAnswer(new Answer<Object>() {
@@ -191,4 +354,11 @@ public class LightsaberTest {
   private static Named createNamedAnnotation(@SuppressWarnings("SameParameterValue") final String value) {
     return new AnnotationBuilder<Named>(Named.class).addMember("value", value).build();
   }
+
+  @Component
+  private static class AnnotatedComponent implements InjectorConfigurator {
+    @Override
+    public void configureInjector(final LightsaberInjector injector) {
+    }
+  }
 }
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2020 Michael Rozumyanskiy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.michaelrocks.lightsaber.internal;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+public class ClassIndexTest {
+  @Test
+  public void testGetIndexIsStable() {
+    final ClassIndex classIndex = new ClassIndex();
+    final int index = classIndex.getIndex(String.class);
+    assertEquals(index, classIndex.getIndex(String.class));
+    assertEquals(index, classIndex.findIndex(String.class));
+  }
+
+  @Test
+  public void testGetIndexIsUnique() {
+    final ClassIndex classIndex = new ClassIndex();
+    assertNotEquals(classIndex.getIndex(Integer.class), classIndex.getIndex(Long.class));
+  }
+
+  @Test
+  public void testFindIndexOfUnregisteredClass() {
+    final ClassIndex classIndex = new ClassIndex();
+    classIndex.getIndex(String.class);
+    assertEquals(-1, classIndex.findIndex(UnregisteredClass.class));
+  }
+
+  @Test
+  public void testIndicesAreDense() {
+    final ClassIndex classIndex = new ClassIndex();
+    assertEquals(0, classIndex.getIndex(String.class));
+    assertEquals(1, classIndex.getIndex(Integer.class));
+    assertEquals(0, classIndex.getIndex(String.class));
+  }
+
+  @Test
+  public void testIndicesAreIndependent() {
+    final ClassIndex classIndex1 = new ClassIndex();
+    final ClassIndex classIndex2 = new ClassIndex();
+    classIndex1.getIndex(String.class);
+    assertEquals(0, classIndex2.getIndex(Integer.class));
+    assertEquals(-1, classIndex2.findIndex(String.class));
+  }
+
+  private static class UnregisteredClass {
+  }
+}
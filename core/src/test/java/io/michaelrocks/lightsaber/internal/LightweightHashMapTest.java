@@ -0,0 +1,109 @@
+/*
+ * Copyright 2020 Michael Rozumyanskiy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.michaelrocks.lightsaber.internal;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class LightweightHashMapTest {
+  @Test
+  public void testPutAndGet() {
+    final LightweightHashMap<String, Integer> map = new LightweightHashMap<String, Integer>();
+    assertNull(map.put("one", 1));
+    assertNull(map.put("two", 2));
+    assertEquals(1, (int) map.put("one", 3));
+    assertEquals(2, map.size());
+    assertEquals(3, (int) map.get("one"));
+    assertEquals(2, (int) map.get("two"));
+    assertNull(map.get("three"));
+    assertTrue(map.containsKey("two"));
+    assertFalse(map.containsKey("three"));
+  }
+
+  @Test
+  public void testNullKeyAndValue() {
+    final LightweightHashMap<String, Integer> map = new LightweightHashMap<String, Integer>();
+    map.put(null, 1);
+    map.put("null", null);
+    assertEquals(1, (int) map.get(null));
+    assertNull(map.get("null"));
+    assertTrue(map.containsKey(null));
+    assertTrue(map.containsKey("null"));
+    assertTrue(map.containsValue(null));
+  }
+
+  @Test
+  public void testGrowWithCollidingKeys() {
+    final LightweightHashMap<CollidingKey, Integer> map = new LightweightHashMap<CollidingKey, Integer>(4);
+    for (int i = 0; i < 1000; ++i) {
+      map.put(new CollidingKey(i), i);
+    }
+
+    assertEquals(1000, map.size());
+    for (int i = 0; i < 1000; ++i) {
+      assertEquals(i, (int) map.get(new CollidingKey(i)));
+    }
+    assertNull(map.get(new CollidingKey(1000)));
+  }
+
+  @Test
+  public void testProbeLengths() {
+    final LightweightHashMap<Integer, Integer> map = new LightweightHashMap<Integer, Integer>();
+    assertEquals(0, map.getMaxProbeLength());
+    assertEquals(0f, map.getAverageProbeLength(), 0f);
+
+    for (int i = 0; i < 100; ++i) {
+      map.put(i, i);
+    }
+
+    assertEquals(0, map.getMaxProbeLength());
+    assertEquals(0f, map.getAverageProbeLength(), 0f);
+  }
+
+  @Test
+  public void testProbeLengthsWithCollidingKeys() {
+    final LightweightHashMap<CollidingKey, Integer> map = new LightweightHashMap<CollidingKey, Integer>();
+    for (int i = 0; i < 4; ++i) {
+      map.put(new CollidingKey(i), i);
+    }
+
+    assertEquals(3, map.getMaxProbeLength());
+    assertEquals(1.5f, map.getAverageProbeLength(), 0f);
+  }
+
+  private static class CollidingKey {
+    private final int value;
+
+    CollidingKey(final int value) {
+      this.value = value;
+    }
+
+    @Override
+    public boolean equals(final Object object) {
+      return object instanceof CollidingKey && ((CollidingKey) object).value == value;
+    }
+
+    @Override
+    public int hashCode() {
+      return value / 8;
+    }
+  }
+}
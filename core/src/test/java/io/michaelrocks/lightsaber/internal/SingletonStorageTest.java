@@ -0,0 +1,49 @@
+/*
+ * Copyright 2020 Michael Rozumyanskiy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.michaelrocks.lightsaber.internal;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class SingletonStorageTest {
+  @Test
+  public void testAllocateSlot() {
+    final SingletonStorage storage = new SingletonStorage();
+    assertEquals(0, storage.allocateSlot());
+    assertEquals(1, storage.allocateSlot());
+    assertNull(storage.get(0));
+    assertNull(storage.get(1));
+  }
+
+  @Test
+  public void testSetKeepsInstancesWhenGrowing() {
+    final SingletonStorage storage = new SingletonStorage();
+    final Object[] instances = new Object[100];
+    for (int i = 0; i < instances.length; ++i) {
+      instances[i] = new Object();
+      final int slot = storage.allocateSlot();
+      storage.set(slot, instances[i]);
+    }
+
+    for (int i = 0; i < instances.length; ++i) {
+      assertSame(instances[i], storage.get(i));
+    }
+  }
+}
@@ -24,9 +24,17 @@ class AndroidLightsaberPlugin : BaseLightsaberPlugin() {
   override fun apply(project: Project) {
     super.apply(project)
 
+    val lightsaber = project.extensions.create("lightsaber", AndroidLightsaberPluginExtension::class.java)
+
     if (project.hasAndroid) {
       addDependencies(getConfigurationName())
-      project.android.registerTransform(LightsaberTransform(project))
+      project.android.registerTransform(LightsaberTransform(project, lightsaber))
+      project.afterEvaluate {
+        if (lightsaber.targetJavaVersion >= JAVA_11_VERSION) {
+          // D8 cannot dex dynamic constants so Android projects have to keep loading keys from static fields.
+          throw GradleException("Lightsaber doesn't support targetJavaVersion ${lightsaber.targetJavaVersion} on Android")
+        }
+      }
     } else {
       throw GradleException("Lightsaber plugin must be applied *AFTER* Android plugin")
     }
@@ -40,4 +48,8 @@ class AndroidLightsaberPlugin : BaseLightsaberPlugin() {
       JavaPlugin.COMPILE_CONFIGURATION_NAME
     }
   }
+
+  companion object {
+    private const val JAVA_11_VERSION = 11
+  }
 }
@@ -35,9 +35,9 @@ class JavaLightsaberPlugin : BaseLightsaberPlugin() {
 
     project.afterEvaluate {
       if (project.plugins.hasPlugin("java")) {
-        setupLightsaberForJava()
+        setupLightsaberForJava(lightsaber)
         if (lightsaber.processTest) {
-          setupLightsaberForJavaTest()
+          setupLightsaberForJavaTest(lightsaber)
         }
       } else {
         throw GradleException("Project should use Java plugin")
@@ -50,17 +50,22 @@ class JavaLightsaberPlugin : BaseLightsaberPlugin() {
     addDependencies(JavaPlugin.TEST_IMPLEMENTATION_CONFIGURATION_NAME)
   }
 
-  private fun setupLightsaberForJava() {
+  private fun setupLightsaberForJava(extension: JavaLightsaberPluginExtension) {
     logger.info("Setting up Lightsaber task for Java project {}...", project.name)
-    createTasks(project.sourceSets.main, project.tasks.compileJava)
+    createTasks(extension, project.sourceSets.main, project.tasks.compileJava)
   }
 
-  private fun setupLightsaberForJavaTest() {
+  private fun setupLightsaberForJavaTest(extension: JavaLightsaberPluginExtension) {
     logger.info("Setting up Lightsaber task for Java test project {}...", project.name)
-    createTasks(project.sourceSets.test, project.tasks.compileTestJava, "test")
+    createTasks(extension, project.sourceSets.test, project.tasks.compileTestJava, "test")
   }
 
-  private fun createTasks(sourceSet: SourceSet, compileTask: JavaCompile, nameSuffix: String = "") {
+  private fun createTasks(
+    extension: JavaLightsaberPluginExtension,
+    sourceSet: SourceSet,
+    compileTask: JavaCompile,
+    nameSuffix: String = ""
+  ) {
     val suffix = nameSuffix.capitalize()
     val lightsaberDir = File(project.buildDir, getLightsaberRelativePath(nameSuffix))
     val classesDirs = getClassesDirs(sourceSet.output)
@@ -74,6 +79,7 @@ class JavaLightsaberPlugin : BaseLightsaberPlugin() {
     val lightsaberTask =
       createLightsaberProcessTask(
         "lightsaberProcess$suffix",
+        extension,
         classesDirs,
         backupDirs,
         sourceDir,
@@ -123,6 +129,7 @@ class JavaLightsaberPlugin : BaseLightsaberPlugin() {
 
   private fun createLightsaberProcessTask(
     taskName: String,
+    extension: JavaLightsaberPluginExtension,
     classesDirs: List<File>,
     backupDirs: List<File>,
     sourceDir: File,
@@ -140,6 +147,8 @@ class JavaLightsaberPlugin : BaseLightsaberPlugin() {
       task.sourceDir = sourceDir
       task.classpath = classpath
       task.bootClasspath = bootClasspath
+      task.flattenComponentConfiguration = extension.flattenComponentConfiguration
+      task.targetJavaVersion = extension.targetJavaVersion
     }
   }
 
@@ -18,4 +18,6 @@ package io.michaelrocks.lightsaber.plugin
 
 open class JavaLightsaberPluginExtension {
   var processTest: Boolean = true
+  var flattenComponentConfiguration: Boolean = false
+  var targetJavaVersion: Int = 6
 }
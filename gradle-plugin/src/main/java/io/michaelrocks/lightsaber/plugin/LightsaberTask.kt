@@ -23,6 +23,7 @@ import org.gradle.api.DefaultTask
 import org.gradle.api.GradleScriptException
 import org.gradle.api.logging.LogLevel
 import org.gradle.api.tasks.Classpath
+import org.gradle.api.tasks.Input
 import org.gradle.api.tasks.InputFiles
 import org.gradle.api.tasks.OutputDirectories
 import org.gradle.api.tasks.OutputDirectory
@@ -47,6 +48,12 @@ open class LightsaberTask : DefaultTask() {
   @Classpath
   var bootClasspath: List<File> = emptyList()
 
+  @Input
+  var flattenComponentConfiguration: Boolean = false
+
+  @Input
+  var targetJavaVersion: Int = 6
+
   init {
     logging.captureStandardOutput(LogLevel.INFO)
   }
@@ -61,7 +68,9 @@ open class LightsaberTask : DefaultTask() {
       classpath = classpath,
       bootClasspath = bootClasspath,
       gen = classesDirs[0],
-      projectName = name.orEmpty().replace(":lightsaberProcess", ":").replace(':', '$')
+      projectName = name.orEmpty().replace(":lightsaberProcess", ":").replace(':', '$'),
+      flattenComponentConfiguration = flattenComponentConfiguration,
+      targetJavaVersion = targetJavaVersion
     )
 
     logger.info("Starting Lightsaber processor: {}", parameters)
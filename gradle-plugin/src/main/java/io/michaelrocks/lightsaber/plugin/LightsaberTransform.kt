@@ -31,7 +31,10 @@ import java.io.File
 import java.io.IOException
 import java.util.EnumSet
 
-class LightsaberTransform(private val project: Project) : Transform() {
+class LightsaberTransform(
+  private val project: Project,
+  private val extension: AndroidLightsaberPluginExtension
+) : Transform() {
   private val logger = getLogger()
 
   override fun transform(invocation: TransformInvocation) {
@@ -63,7 +66,9 @@ class LightsaberTransform(private val project: Project) : Transform() {
         it.jarInputs.map { it.file } + it.directoryInputs.map { it.file }
       },
       bootClasspath = project.android.bootClasspath,
-      projectName = invocation.context.path.replace(":transformClassesWithLightsaberFor", ":").replace(':', '$')
+      projectName = invocation.context.path.replace(":transformClassesWithLightsaberFor", ":").replace(':', '$'),
+      flattenComponentConfiguration = extension.flattenComponentConfiguration,
+      targetJavaVersion = extension.targetJavaVersion
     )
     logger.info("Starting Lightsaber processor: {}", parameters)
     val processor = LightsaberProcessor(parameters)
@@ -120,6 +125,14 @@ class LightsaberTransform(private val project: Project) : Transform() {
     return false
   }
 
+  override fun getParameterInputs(): Map<String, Any> {
+    // The options change the generated code so the transform must rerun when any of them changes.
+    return mapOf(
+      "flattenComponentConfiguration" to extension.flattenComponentConfiguration,
+      "targetJavaVersion" to extension.targetJavaVersion
+    )
+  }
+
   private fun TransformOutputProvider.getContentLocation(
     name: String,
     contentType: QualifiedContent.ContentType,
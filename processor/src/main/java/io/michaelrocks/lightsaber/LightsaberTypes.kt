@@ -20,12 +20,16 @@ import io.michaelrocks.grip.mirrors.getObjectType
 import io.michaelrocks.lightsaber.internal.InjectorConfigurator
 import io.michaelrocks.lightsaber.internal.LightsaberInjector
 import io.michaelrocks.lightsaber.internal.MembersInjector
+import io.michaelrocks.lightsaber.internal.ProviderUtils
 import io.michaelrocks.lightsaber.internal.SingletonProvider
+import io.michaelrocks.lightsaber.internal.SingletonStorage
 
 object LightsaberTypes {
   val INJECTOR_CONFIGURATOR_TYPE = getObjectType<InjectorConfigurator>()
   val MEMBERS_INJECTOR_TYPE = getObjectType<MembersInjector>()
   val LIGHTSABER_INJECTOR_TYPE = getObjectType<LightsaberInjector>()
   val SINGLETON_PROVIDER_TYPE = getObjectType<SingletonProvider<*>>()
+  val SINGLETON_STORAGE_TYPE = getObjectType<SingletonStorage>()
+  val PROVIDER_UTILS_TYPE = getObjectType<ProviderUtils>()
   val LAZY_ADAPTER_TYPE = getObjectType<LazyAdapter<*>>()
 }
@@ -16,19 +16,24 @@
 
 package io.michaelrocks.lightsaber.processor
 
+import io.michaelrocks.grip.ClassRegistry
 import io.michaelrocks.grip.Grip
 import io.michaelrocks.grip.GripFactory
+import io.michaelrocks.grip.mirrors.getObjectTypeByInternalName
 import io.michaelrocks.lightsaber.processor.analysis.Analyzer
+import io.michaelrocks.lightsaber.processor.commons.ConcurrentClassRegistry
 import io.michaelrocks.lightsaber.processor.commons.StandaloneClassWriter
 import io.michaelrocks.lightsaber.processor.commons.closeQuietly
 import io.michaelrocks.lightsaber.processor.commons.exhaustive
 import io.michaelrocks.lightsaber.processor.generation.GenerationContextFactory
 import io.michaelrocks.lightsaber.processor.generation.Generator
 import io.michaelrocks.lightsaber.processor.generation.model.GenerationContext
+import io.michaelrocks.lightsaber.processor.injection.ModuleFlatteningChecker
 import io.michaelrocks.lightsaber.processor.injection.Patcher
 import io.michaelrocks.lightsaber.processor.io.DirectoryFileSink
 import io.michaelrocks.lightsaber.processor.io.FileSource
 import io.michaelrocks.lightsaber.processor.io.IoFactory
+import io.michaelrocks.lightsaber.processor.io.OrderedEntryWriter
 import io.michaelrocks.lightsaber.processor.logging.getLogger
 import io.michaelrocks.lightsaber.processor.model.Component
 import io.michaelrocks.lightsaber.processor.model.InjectionContext
@@ -41,6 +46,8 @@ import org.objectweb.asm.ClassReader
 import org.objectweb.asm.ClassWriter
 import java.io.Closeable
 import java.io.File
+import java.util.concurrent.Callable
+import java.util.concurrent.Executors
 
 class ClassProcessor(
   private val inputs: List<File>,
@@ -48,12 +55,15 @@ class ClassProcessor(
   private val genPath: File,
   private val projectName: String,
   classpath: List<File>,
-  bootClasspath: List<File>
+  bootClasspath: List<File>,
+  private val flattenComponentConfiguration: Boolean = false,
+  private val targetJavaVersion: Int = 6
 ) : Closeable {
 
   private val logger = getLogger()
 
   private val grip: Grip = GripFactory.create(inputs + classpath + bootClasspath)
+  private val classRegistry: ClassRegistry = ConcurrentClassRegistry(grip.classRegistry)
   private val errorReporter = ErrorReporter()
 
   private val fileSourcesAndSinks = inputs.zip(outputs) { input, output ->
@@ -66,9 +76,10 @@ class ClassProcessor(
   fun processClasses() {
     val injectionContext = performAnalysisAndValidation()
     val generationContext =
-      GenerationContextFactory(grip.fileRegistry, grip.classRegistry, projectName)
+      GenerationContextFactory(grip.fileRegistry, grip.classRegistry, projectName, targetJavaVersion)
         .createGenerationContext(injectionContext)
     injectionContext.dump()
+    // Patching must complete before generation starts because generators read the NestRegistry filled by patchers.
     copyAndPatchClasses(injectionContext, generationContext)
     performGeneration(injectionContext, generationContext)
   }
@@ -91,34 +102,97 @@ class ClassProcessor(
   }
 
   private fun copyAndPatchClasses(injectionContext: InjectionContext, generationContext: GenerationContext) {
-    fileSourcesAndSinks.forEach { (fileSource, fileSink) ->
-      logger.debug("Copy from {} to {}", fileSource, fileSink)
-      fileSource.listFiles { path, type ->
-        logger.debug("Copy file {} of type {}", path, type)
-        when (type) {
-          FileSource.EntryType.CLASS -> {
-            val classReader = ClassReader(fileSource.readFile(path))
-            val classWriter = StandaloneClassWriter(
-              classReader, ClassWriter.COMPUTE_MAXS or ClassWriter.COMPUTE_FRAMES, grip.classRegistry
-            )
-            val classVisitor = Patcher(classWriter, grip.classRegistry, generationContext.keyRegistry, injectionContext)
-            classReader.accept(classVisitor, ClassReader.SKIP_FRAMES)
-            fileSink.createFile(path, classWriter.toByteArray())
-          }
-
-          FileSource.EntryType.FILE -> fileSink.createFile(path, fileSource.readFile(path))
-          FileSource.EntryType.DIRECTORY -> fileSink.createDirectory(path)
+    // Classes are patched on a pool of workers while the current thread reads input files and writes the results in
+    // the original order, so the output doesn't depend on scheduling.
+    val flatteningChecker =
+      if (flattenComponentConfiguration) createModuleFlatteningChecker(generationContext) else null
+    val threadCount = Runtime.getRuntime().availableProcessors()
+    val executor = Executors.newFixedThreadPool(threadCount)
+    try {
+      inputs.zip(fileSourcesAndSinks).forEach { (input, sourceAndSink) ->
+        val (fileSource, fileSink) = sourceAndSink
+        logger.debug("Copy from {} to {}", fileSource, fileSink)
+        val writer = OrderedEntryWriter(fileSink, threadCount * MAX_PENDING_CLASSES_PER_THREAD)
+        val registeredTypes = grip.fileRegistry.findTypesForFile(input).toHashSet()
+
+        fun addPatchedClass(path: String, classData: ByteArray) {
+          val future = executor.submit(Callable {
+            patchClass(classData, injectionContext, generationContext, flatteningChecker)
+          })
+          writer.addFile(path, future)
+        }
+
+        fileSource.listFiles { path, type ->
+          logger.debug("Copy file {} of type {}", path, type)
+          exhaustive(
+            when (type) {
+              FileSource.EntryType.CLASS -> {
+                // Grip registers the classes of an input by their paths, so if the path names one of them the class
+                // can be copied without being read into memory. Any other class, e.g. a versioned entry of a
+                // multi-release jar, is identified by its bytes.
+                val pathType = getObjectTypeByInternalName(getInternalNameFromPath(path))
+                if (pathType in registeredTypes) {
+                  if (Patcher.isPatchingRequired(injectionContext, pathType)) {
+                    addPatchedClass(path, fileSource.readFile(path))
+                  } else {
+                    writer.addFile(path, fileSource)
+                  }
+                } else {
+                  val classData = fileSource.readFile(path)
+                  val classType = getObjectTypeByInternalName(ClassReader(classData).className)
+                  if (Patcher.isPatchingRequired(injectionContext, classType)) {
+                    addPatchedClass(path, classData)
+                  } else {
+                    writer.addFile(path, classData)
+                  }
+                }
+              }
+
+              FileSource.EntryType.FILE -> writer.addFile(path, fileSource)
+              FileSource.EntryType.DIRECTORY -> writer.addDirectory(path)
+            }
+          )
         }
-      }
 
-      fileSink.flush()
+        writer.flush()
+      }
+    } finally {
+      executor.shutdownNow()
     }
 
     checkErrors()
   }
 
+  private fun patchClass(
+    classData: ByteArray,
+    injectionContext: InjectionContext,
+    generationContext: GenerationContext,
+    flatteningChecker: ModuleFlatteningChecker?
+  ): ByteArray {
+    val classReader = ClassReader(classData)
+    // Patchers keep the original stack map frames valid and emit frames for the code they generate, so frames aren't
+    // recomputed. Methods that aren't transformed are copied by the writer as is.
+    val classWriter = StandaloneClassWriter(classReader, ClassWriter.COMPUTE_MAXS, classRegistry)
+    val classVisitor =
+      Patcher(
+        classWriter,
+        classRegistry,
+        generationContext.keyRegistry,
+        injectionContext,
+        flatteningChecker,
+        generationContext.nestRegistry
+      )
+    classReader.accept(classVisitor, 0)
+    return classWriter.toByteArray()
+  }
+
+  private fun createModuleFlatteningChecker(generationContext: GenerationContext): ModuleFlatteningChecker {
+    val processedTypes = inputs.flatMapTo(HashSet()) { grip.fileRegistry.findTypesForFile(it) }
+    return ModuleFlatteningChecker(classRegistry, generationContext.keyRegistry, processedTypes)
+  }
+
   private fun performGeneration(injectionContext: InjectionContext, generationContext: GenerationContext) {
-    val generator = Generator(grip.classRegistry, errorReporter, classSink)
+    val generator = Generator(classRegistry, errorReporter, classSink)
     generator.generate(injectionContext, generationContext)
     checkErrors()
   }
@@ -180,4 +254,22 @@ class ClassProcessor(
       }
     }
   }
+
+  private fun getInternalNameFromPath(path: String): String {
+    val internalName = path.replace(File.separatorChar, '/').dropLast(CLASS_FILE_EXTENSION.length)
+    if (!internalName.startsWith(VERSIONED_CLASSES_PREFIX)) {
+      return internalName
+    }
+
+    val versionEnd = internalName.indexOf('/', VERSIONED_CLASSES_PREFIX.length)
+    return if (versionEnd >= 0) internalName.substring(versionEnd + 1) else internalName
+  }
+
+  companion object {
+    private const val CLASS_FILE_EXTENSION = ".class"
+    private const val VERSIONED_CLASSES_PREFIX = "META-INF/versions/"
+
+    // Limits the number of classes kept in memory while they're waiting to be written.
+    private const val MAX_PENDING_CLASSES_PER_THREAD = 4
+  }
 }
@@ -21,19 +21,29 @@ import java.util.ArrayList
 class ErrorReporter {
   private val errors = ArrayList<Exception>()
 
+  @Synchronized
   fun hasErrors(): Boolean {
     return errors.isNotEmpty()
   }
 
+  @Synchronized
   fun getErrors(): List<Exception> {
-    return errors
+    return ArrayList(errors)
   }
 
   fun reportError(errorMessage: String) {
     reportError(ProcessingException(errorMessage))
   }
 
+  @Synchronized
   fun reportError(error: Exception) {
     errors.add(error)
   }
+
+  fun reportErrors(errorReporter: ErrorReporter) {
+    val errors = errorReporter.getErrors()
+    synchronized(this) {
+      this.errors.addAll(errors)
+    }
+  }
 }
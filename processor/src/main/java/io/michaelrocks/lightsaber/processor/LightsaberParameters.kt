@@ -24,5 +24,7 @@ data class LightsaberParameters(
   var classpath: List<File>,
   var bootClasspath: List<File>,
   var gen: File,
-  var projectName: String
+  var projectName: String,
+  var flattenComponentConfiguration: Boolean = false,
+  var targetJavaVersion: Int = 6
 )
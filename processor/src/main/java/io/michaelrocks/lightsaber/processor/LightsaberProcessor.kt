@@ -29,7 +29,11 @@ class LightsaberProcessor(private val parameters: LightsaberParameters) {
     val projectName = parameters.projectName
     val classpath = parameters.classpath
     val bootClasspath = parameters.bootClasspath
-    ClassProcessor(inputs, outputs, genPath, projectName, classpath, bootClasspath).apply {
+    val flattenComponentConfiguration = parameters.flattenComponentConfiguration
+    val targetJavaVersion = parameters.targetJavaVersion
+    ClassProcessor(
+      inputs, outputs, genPath, projectName, classpath, bootClasspath, flattenComponentConfiguration, targetJavaVersion
+    ).apply {
       processClasses()
       close()
     }
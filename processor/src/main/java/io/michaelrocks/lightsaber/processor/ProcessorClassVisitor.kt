@@ -18,12 +18,12 @@ package io.michaelrocks.lightsaber.processor
 
 import org.objectweb.asm.ClassVisitor
 
-import org.objectweb.asm.Opcodes.ASM5
+import org.objectweb.asm.Opcodes.ASM7
 
 abstract class ProcessorClassVisitor @JvmOverloads constructor(
   val errorReporter: ErrorReporter,
   classVisitor: ClassVisitor? = null
-) : ClassVisitor(ASM5, classVisitor) {
+) : ClassVisitor(ASM7, classVisitor) {
 
   fun reportError(errorMessage: String) {
     reportError(ProcessingException(errorMessage))
@@ -17,12 +17,12 @@
 package io.michaelrocks.lightsaber.processor
 
 import org.objectweb.asm.FieldVisitor
-import org.objectweb.asm.Opcodes.ASM5
+import org.objectweb.asm.Opcodes.ASM7
 
 open class ProcessorFieldVisitor @JvmOverloads constructor(
   val errorReporter: ErrorReporter,
   fieldVisitor: FieldVisitor? = null
-) : FieldVisitor(ASM5, fieldVisitor) {
+) : FieldVisitor(ASM7, fieldVisitor) {
 
   fun reportError(errorMessage: String) {
     reportError(ProcessingException(errorMessage))
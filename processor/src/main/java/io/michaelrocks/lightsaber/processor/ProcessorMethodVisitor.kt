@@ -17,12 +17,12 @@
 package io.michaelrocks.lightsaber.processor
 
 import org.objectweb.asm.MethodVisitor
-import org.objectweb.asm.Opcodes.ASM5
+import org.objectweb.asm.Opcodes.ASM7
 
 open class ProcessorMethodVisitor @JvmOverloads constructor(
   val errorReporter: ErrorReporter,
   methodVisitor: MethodVisitor? = null
-) : MethodVisitor(ASM5, methodVisitor) {
+) : MethodVisitor(ASM7, methodVisitor) {
 
   fun reportError(errorMessage: String) {
     reportError(ProcessingException(errorMessage))
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2020 Michael Rozumyanskiy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.michaelrocks.lightsaber.processor.analysis
+
+import io.michaelrocks.grip.mirrors.ClassMirror
+import io.michaelrocks.grip.mirrors.MethodMirror
+import io.michaelrocks.grip.mirrors.Type
+import io.michaelrocks.grip.mirrors.getObjectTypeByInternalName
+import io.michaelrocks.grip.mirrors.isAbstract
+import io.michaelrocks.grip.mirrors.isInterface
+import io.michaelrocks.grip.mirrors.isStatic
+import io.michaelrocks.grip.mirrors.signature.GenericType
+import io.michaelrocks.lightsaber.processor.ErrorReporter
+import io.michaelrocks.lightsaber.processor.commons.Types
+import io.michaelrocks.lightsaber.processor.model.Accessor
+import io.michaelrocks.lightsaber.processor.model.AccessorInterface
+import io.michaelrocks.lightsaber.processor.model.Dependency
+
+interface AccessorInterfacesAnalyzer {
+  fun analyze(): Collection<AccessorInterface>
+}
+
+class AccessorInterfacesAnalyzerImpl(
+  private val annotationIndex: AnnotationIndex,
+  private val analyzerHelper: AnalyzerHelper,
+  private val errorReporter: ErrorReporter,
+  private val projectName: String
+) : AccessorInterfacesAnalyzer {
+
+  override fun analyze(): Collection<AccessorInterface> {
+    return annotationIndex.findClassesAnnotatedWith(Types.ACCESSORS_TYPE).mapNotNull {
+      maybeCreateAccessorInterface(it)
+    }
+  }
+
+  private fun maybeCreateAccessorInterface(mirror: ClassMirror): AccessorInterface? {
+    if (!mirror.isInterface) {
+      error("Class ${mirror.type.className} annotated with @Accessors must be an interface")
+      return null
+    }
+
+    if (Types.FACTORY_TYPE in mirror.annotations) {
+      error("Interface ${mirror.type.className} cannot be annotated with both @Accessors and @Factory")
+      return null
+    }
+
+    return createAccessorInterface(mirror)
+  }
+
+  private fun createAccessorInterface(mirror: ClassMirror): AccessorInterface {
+    val accessors = mirror.methods
+      .filter { it.isAbstract && !it.isStatic }
+      .mapNotNull { maybeCreateAccessor(mirror, it) }
+    val implementationType =
+      getObjectTypeByInternalName(mirror.type.internalName + "\$Lightsaber\$Accessors\$$projectName")
+    val qualifier = analyzerHelper.findQualifier(mirror)
+    val dependency = Dependency(GenericType.Raw(mirror.type), qualifier)
+    return AccessorInterface(mirror.type, implementationType, dependency, accessors)
+  }
+
+  private fun maybeCreateAccessor(mirror: ClassMirror, method: MethodMirror): Accessor? {
+    if (method.parameters.isNotEmpty()) {
+      error("Accessor ${mirror.type.className}.${method.name} mustn't have parameters")
+      return null
+    }
+
+    if (method.type.returnType == Type.Primitive.Void) {
+      error("Accessor ${mirror.type.className}.${method.name} must return a value")
+      return null
+    }
+
+    return Accessor(method, analyzerHelper.convertReturnTypeToInjectee(method))
+  }
+
+  private fun error(message: String) {
+    errorReporter.reportError(message)
+  }
+}
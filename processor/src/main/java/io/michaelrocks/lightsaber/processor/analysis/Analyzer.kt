@@ -16,10 +16,20 @@
 
 package io.michaelrocks.lightsaber.processor.analysis
 
+import io.michaelrocks.grip.ClassRegistry
 import io.michaelrocks.grip.Grip
 import io.michaelrocks.lightsaber.processor.ErrorReporter
+import io.michaelrocks.lightsaber.processor.commons.ConcurrentClassRegistry
+import io.michaelrocks.lightsaber.processor.commons.Types
+import io.michaelrocks.lightsaber.processor.commons.getOrRethrow
+import io.michaelrocks.lightsaber.processor.model.AccessorInterface
+import io.michaelrocks.lightsaber.processor.model.Factory
 import io.michaelrocks.lightsaber.processor.model.InjectionContext
 import java.io.File
+import java.util.concurrent.Callable
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+import java.util.concurrent.Future
 
 class Analyzer(
   private val grip: Grip,
@@ -28,14 +38,104 @@ class Analyzer(
 ) {
 
   fun analyze(files: Collection<File>): InjectionContext {
-    val analyzerHelper = AnalyzerHelperImpl(grip.classRegistry, ScopeRegistry(), errorReporter)
-    val (injectableTargets, providableTargets) = InjectionTargetsAnalyzerImpl(grip, analyzerHelper, errorReporter).analyze(files)
-    val bindingRegistry = BindingsAnalyzerImpl(grip, analyzerHelper, errorReporter).analyze(files)
-    val factories = FactoriesAnalyzerImpl(grip, analyzerHelper, errorReporter, projectName).analyze(files)
+    val annotationIndex = AnnotationIndexImpl(grip.fileRegistry, grip.classRegistry, files, INDEXED_ANNOTATION_TYPES)
+    val classRegistry = ConcurrentClassRegistry(grip.classRegistry)
+    val scopeRegistry = ScopeRegistry()
+
+    val executor = Executors.newFixedThreadPool(PARALLEL_PASS_COUNT)
+    val (injectionTargetsResult, bindingRegistry, factories, accessorInterfaces) = try {
+      val injectionTargetsPass = executor.submitPass(classRegistry, scopeRegistry) { analyzerHelper, errorReporter ->
+        InjectionTargetsAnalyzerImpl(annotationIndex, analyzerHelper, errorReporter).analyze()
+      }
+      val bindingsPass = executor.submitPass(classRegistry, scopeRegistry) { analyzerHelper, errorReporter ->
+        BindingsAnalyzerImpl(annotationIndex, analyzerHelper, errorReporter).analyze()
+      }
+      val factoriesPass = executor.submitPass(classRegistry, scopeRegistry) { analyzerHelper, errorReporter ->
+        FactoriesAnalyzerImpl(classRegistry, annotationIndex, analyzerHelper, errorReporter, projectName).analyze()
+      }
+      val accessorInterfacesPass = executor.submitPass(classRegistry, scopeRegistry) { analyzerHelper, errorReporter ->
+        AccessorInterfacesAnalyzerImpl(annotationIndex, analyzerHelper, errorReporter, projectName).analyze()
+      }
+
+      // Errors are merged in the order of the passes regardless of the order they've been completed in.
+      PassResults(
+        injectionTargetsPass.await(),
+        bindingsPass.await(),
+        factoriesPass.await(),
+        accessorInterfacesPass.await()
+      )
+    } finally {
+      executor.shutdownNow()
+    }
+
+    val (injectableTargets, providableTargets) = injectionTargetsResult
+    // Components and modules are analyzed sequentially on purpose. ModuleParser and ModuleProviderParser query Grip
+    // directly, and Grip isn't thread-safe, so nearly all the work of parsing a module would be serialized anyway.
+    // ModuleRegistry also memoizes modules shared by components and detects import cycles on a single stack. With
+    // several threads a cycle could deadlock instead of being reported, and errors would depend on scheduling.
+    val analyzerHelper = AnalyzerHelperImpl(classRegistry, scopeRegistry, errorReporter)
     val moduleProviderParser = ModuleProviderParserImpl(grip, errorReporter)
     val moduleParser = ModuleParserImpl(grip, moduleProviderParser, bindingRegistry, analyzerHelper, projectName)
-    val moduleRegistry = ModuleRegistryImpl(grip, moduleParser, errorReporter, providableTargets, factories, files)
-    val components = ComponentsAnalyzerImpl(grip, moduleRegistry, errorReporter).analyze(files)
-    return InjectionContext(components, injectableTargets, providableTargets, factories, bindingRegistry.bindings)
+    val moduleRegistry = ModuleRegistryImpl(
+      grip,
+      annotationIndex,
+      moduleParser,
+      errorReporter,
+      providableTargets,
+      factories,
+      accessorInterfaces
+    )
+    val components = ComponentsAnalyzerImpl(grip, annotationIndex, moduleRegistry, errorReporter).analyze()
+    return InjectionContext(
+      components,
+      injectableTargets,
+      providableTargets,
+      factories,
+      accessorInterfaces,
+      bindingRegistry.bindings
+    )
+  }
+
+  private fun <T> ExecutorService.submitPass(
+    classRegistry: ClassRegistry,
+    scopeRegistry: ScopeRegistry,
+    pass: (AnalyzerHelper, ErrorReporter) -> T
+  ): AnalysisPass<T> {
+    val passErrorReporter = ErrorReporter()
+    val analyzerHelper = AnalyzerHelperImpl(classRegistry, scopeRegistry, passErrorReporter)
+    val future = submit(Callable { pass(analyzerHelper, passErrorReporter) })
+    return AnalysisPass(future, passErrorReporter)
+  }
+
+  private data class PassResults(
+    val injectionTargetsResult: InjectionTargetsAnalyzer.Result,
+    val bindingRegistry: BindingRegistry,
+    val factories: Collection<Factory>,
+    val accessorInterfaces: Collection<AccessorInterface>
+  )
+
+  private inner class AnalysisPass<T>(
+    private val future: Future<T>,
+    private val passErrorReporter: ErrorReporter
+  ) {
+
+    fun await(): T {
+      val result = future.getOrRethrow()
+      errorReporter.reportErrors(passErrorReporter)
+      return result
+    }
+  }
+
+  companion object {
+    private const val PARALLEL_PASS_COUNT = 4
+
+    private val INDEXED_ANNOTATION_TYPES = listOf(
+      Types.INJECT_TYPE,
+      Types.PROVIDED_AS_TYPE,
+      Types.FACTORY_TYPE,
+      Types.ACCESSORS_TYPE,
+      Types.MODULE_TYPE,
+      Types.COMPONENT_TYPE
+    )
   }
 }
@@ -39,6 +39,7 @@ interface AnalyzerHelper {
   fun convertToInjectionPoint(field: FieldMirror, container: Type.Object): InjectionPoint.Field
   fun convertToInjectee(method: MethodMirror, parameterIndex: Int): Injectee
   fun convertToInjectee(field: FieldMirror): Injectee
+  fun convertReturnTypeToInjectee(method: MethodMirror): Injectee
   fun findQualifier(annotated: Annotated): AnnotationMirror?
   fun findScope(annotated: Annotated): Scope
 }
@@ -66,6 +67,10 @@ class AnalyzerHelperImpl(
     return newInjectee(field.signature.type, field)
   }
 
+  override fun convertReturnTypeToInjectee(method: MethodMirror): Injectee {
+    return newInjectee(method.signature.returnType, method)
+  }
+
   override fun findQualifier(annotated: Annotated): AnnotationMirror? {
     fun isQualifier(annotationType: Type.Object): Boolean {
       return classRegistry.getClassMirror(annotationType).annotations.contains(Types.QUALIFIER_TYPE)
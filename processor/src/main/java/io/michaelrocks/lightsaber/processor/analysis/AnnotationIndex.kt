@@ -0,0 +1,99 @@
+/*
+ * Copyright 2020 Michael Rozumyanskiy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.michaelrocks.lightsaber.processor.analysis
+
+import io.michaelrocks.grip.ClassRegistry
+import io.michaelrocks.grip.FileRegistry
+import io.michaelrocks.grip.mirrors.Annotated
+import io.michaelrocks.grip.mirrors.ClassMirror
+import io.michaelrocks.grip.mirrors.FieldMirror
+import io.michaelrocks.grip.mirrors.MethodMirror
+import io.michaelrocks.grip.mirrors.Type
+import java.io.File
+
+interface AnnotationIndex {
+  fun findClassesAnnotatedWith(annotationType: Type.Object): Collection<ClassMirror>
+  fun findMethodsAnnotatedWith(annotationType: Type.Object): Map<Type.Object, List<MethodMirror>>
+  fun findFieldsAnnotatedWith(annotationType: Type.Object): Map<Type.Object, List<FieldMirror>>
+}
+
+// Classes, methods and fields annotated with any of the given annotations are collected in a single pass over the
+// files instead of querying the files once per annotation. Elements keep the order of the files and classes.
+class AnnotationIndexImpl(
+  fileRegistry: FileRegistry,
+  classRegistry: ClassRegistry,
+  files: Collection<File>,
+  private val annotationTypes: Collection<Type.Object>
+) : AnnotationIndex {
+
+  private val classesByAnnotationTypes = HashMap<Type.Object, MutableList<ClassMirror>>()
+  private val methodsByAnnotationTypes = HashMap<Type.Object, MutableMap<Type.Object, MutableList<MethodMirror>>>()
+  private val fieldsByAnnotationTypes = HashMap<Type.Object, MutableMap<Type.Object, MutableList<FieldMirror>>>()
+
+  init {
+    for (file in files) {
+      for (type in fileRegistry.findTypesForFile(file)) {
+        indexClass(classRegistry.getClassMirror(type))
+      }
+    }
+  }
+
+  override fun findClassesAnnotatedWith(annotationType: Type.Object): Collection<ClassMirror> {
+    checkAnnotationType(annotationType)
+    return classesByAnnotationTypes[annotationType].orEmpty()
+  }
+
+  override fun findMethodsAnnotatedWith(annotationType: Type.Object): Map<Type.Object, List<MethodMirror>> {
+    checkAnnotationType(annotationType)
+    return methodsByAnnotationTypes[annotationType].orEmpty()
+  }
+
+  override fun findFieldsAnnotatedWith(annotationType: Type.Object): Map<Type.Object, List<FieldMirror>> {
+    checkAnnotationType(annotationType)
+    return fieldsByAnnotationTypes[annotationType].orEmpty()
+  }
+
+  private fun indexClass(mirror: ClassMirror) {
+    mirror.forEachIndexedAnnotation { annotationType ->
+      classesByAnnotationTypes.getOrPut(annotationType, ::ArrayList).add(mirror)
+    }
+
+    mirror.methods.forEach { method ->
+      method.forEachIndexedAnnotation { annotationType ->
+        methodsByAnnotationTypes.getOrPut(annotationType, ::LinkedHashMap).getOrPut(mirror.type, ::ArrayList).add(method)
+      }
+    }
+
+    mirror.fields.forEach { field ->
+      field.forEachIndexedAnnotation { annotationType ->
+        fieldsByAnnotationTypes.getOrPut(annotationType, ::LinkedHashMap).getOrPut(mirror.type, ::ArrayList).add(field)
+      }
+    }
+  }
+
+  private inline fun Annotated.forEachIndexedAnnotation(action: (Type.Object) -> Unit) {
+    for (annotationType in annotationTypes) {
+      if (annotationType in annotations) {
+        action(annotationType)
+      }
+    }
+  }
+
+  private fun checkAnnotationType(annotationType: Type.Object) {
+    require(annotationType in annotationTypes) { "Annotation ${annotationType.className} isn't indexed" }
+  }
+}
@@ -16,9 +16,6 @@
 
 package io.michaelrocks.lightsaber.processor.analysis
 
-import io.michaelrocks.grip.Grip
-import io.michaelrocks.grip.annotatedWith
-import io.michaelrocks.grip.classes
 import io.michaelrocks.grip.mirrors.ClassMirror
 import io.michaelrocks.grip.mirrors.Type
 import io.michaelrocks.grip.mirrors.signature.GenericType
@@ -27,22 +24,20 @@ import io.michaelrocks.lightsaber.processor.ErrorReporter
 import io.michaelrocks.lightsaber.processor.commons.Types
 import io.michaelrocks.lightsaber.processor.model.Binding
 import io.michaelrocks.lightsaber.processor.model.Dependency
-import java.io.File
 
 interface BindingsAnalyzer {
-  fun analyze(files: Collection<File>): BindingRegistry
+  fun analyze(): BindingRegistry
 }
 
 class BindingsAnalyzerImpl(
-  private val grip: Grip,
+  private val annotationIndex: AnnotationIndex,
   private val analyzerHelper: AnalyzerHelper,
   private val errorReporter: ErrorReporter
 ) : BindingsAnalyzer {
 
-  override fun analyze(files: Collection<File>): BindingRegistry {
+  override fun analyze(): BindingRegistry {
     val bindingRegistry = BindingRegistryImpl()
-    val bindingsQuery = grip select classes from files where annotatedWith(Types.PROVIDED_AS_TYPE)
-    bindingsQuery.execute().classes.forEach { mirror ->
+    annotationIndex.findClassesAnnotatedWith(Types.PROVIDED_AS_TYPE).forEach { mirror ->
       createBindingsForClass(mirror).forEach { binding ->
         bindingRegistry.registerBinding(binding)
       }
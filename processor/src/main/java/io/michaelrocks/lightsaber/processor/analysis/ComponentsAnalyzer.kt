@@ -17,8 +17,6 @@
 package io.michaelrocks.lightsaber.processor.analysis
 
 import io.michaelrocks.grip.Grip
-import io.michaelrocks.grip.annotatedWith
-import io.michaelrocks.grip.classes
 import io.michaelrocks.grip.mirrors.Type
 import io.michaelrocks.lightsaber.processor.ErrorReporter
 import io.michaelrocks.lightsaber.processor.commons.Types
@@ -26,21 +24,21 @@ import io.michaelrocks.lightsaber.processor.graph.DirectedGraph
 import io.michaelrocks.lightsaber.processor.graph.HashDirectedGraph
 import io.michaelrocks.lightsaber.processor.graph.reversed
 import io.michaelrocks.lightsaber.processor.model.Component
-import java.io.File
 
 interface ComponentsAnalyzer {
-  fun analyze(files: Collection<File>): Collection<Component>
+  fun analyze(): Collection<Component>
 }
 
 class ComponentsAnalyzerImpl(
   private val grip: Grip,
+  private val annotationIndex: AnnotationIndex,
   private val moduleRegistry: ModuleRegistry,
   private val errorReporter: ErrorReporter
 ) : ComponentsAnalyzer {
 
-  override fun analyze(files: Collection<File>): Collection<Component> {
-    val componentsQuery = grip select classes from files where annotatedWith(Types.COMPONENT_TYPE)
-    val graph = buildComponentGraph(componentsQuery.execute().types)
+  override fun analyze(): Collection<Component> {
+    val componentTypes = annotationIndex.findClassesAnnotatedWith(Types.COMPONENT_TYPE).map { it.type }
+    val graph = buildComponentGraph(componentTypes)
     val reversedGraph = graph.reversed()
     return graph.vertices
       .filterNot { it == Types.COMPONENT_NONE_TYPE }
@@ -16,13 +16,7 @@
 
 package io.michaelrocks.lightsaber.processor.analysis
 
-import io.michaelrocks.grip.Grip
-import io.michaelrocks.grip.and
-import io.michaelrocks.grip.annotatedWith
-import io.michaelrocks.grip.classes
-import io.michaelrocks.grip.from
-import io.michaelrocks.grip.isConstructor
-import io.michaelrocks.grip.methods
+import io.michaelrocks.grip.ClassRegistry
 import io.michaelrocks.grip.mirrors.ClassMirror
 import io.michaelrocks.grip.mirrors.MethodMirror
 import io.michaelrocks.grip.mirrors.Type
@@ -40,22 +34,21 @@ import io.michaelrocks.lightsaber.processor.model.FactoryInjectionPoint
 import io.michaelrocks.lightsaber.processor.model.FactoryProvisionPoint
 import io.michaelrocks.lightsaber.processor.model.Injectee
 import io.michaelrocks.lightsaber.processor.model.InjectionPoint
-import java.io.File
 
 interface FactoriesAnalyzer {
-  fun analyze(files: Collection<File>): Collection<Factory>
+  fun analyze(): Collection<Factory>
 }
 
 class FactoriesAnalyzerImpl(
-  private val grip: Grip,
+  private val classRegistry: ClassRegistry,
+  private val annotationIndex: AnnotationIndex,
   private val analyzerHelper: AnalyzerHelper,
   private val errorReporter: ErrorReporter,
   private val projectName: String
 ) : FactoriesAnalyzer {
 
-  override fun analyze(files: Collection<File>): Collection<Factory> {
-    val factoriesQuery = grip select classes from files where annotatedWith(Types.FACTORY_TYPE)
-    return factoriesQuery.execute().classes.mapNotNull {
+  override fun analyze(): Collection<Factory> {
+    return annotationIndex.findClassesAnnotatedWith(Types.FACTORY_TYPE).mapNotNull {
       maybeCreateFactory(it)
     }
   }
@@ -76,10 +69,8 @@ class FactoriesAnalyzerImpl(
   private fun maybeCreateFactoryProvisionPoint(mirror: ClassMirror, method: MethodMirror): FactoryProvisionPoint? {
     val returnType = tryExtractReturnTypeFromFactoryMethod(mirror, method) ?: return null
 
-    val dependencyMirror = grip.classRegistry.getClassMirror(returnType)
-    val dependencyConstructorsQuery =
-      grip select methods from dependencyMirror where (isConstructor() and annotatedWith(Types.FACTORY_INJECT_TYPE))
-    val dependencyConstructors = dependencyConstructorsQuery.execute().values.singleOrNull().orEmpty()
+    val dependencyMirror = classRegistry.getClassMirror(returnType)
+    val dependencyConstructors = dependencyMirror.constructors.filter { Types.FACTORY_INJECT_TYPE in it.annotations }
     if (dependencyConstructors.isEmpty()) {
       error("Class ${dependencyMirror.type.className} must have a constructor annotated with @Factory.Inject")
       return null
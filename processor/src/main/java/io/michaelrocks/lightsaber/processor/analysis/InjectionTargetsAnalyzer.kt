@@ -16,12 +16,8 @@
 
 package io.michaelrocks.lightsaber.processor.analysis
 
-import io.michaelrocks.grip.FieldsResult
-import io.michaelrocks.grip.Grip
-import io.michaelrocks.grip.MethodsResult
-import io.michaelrocks.grip.annotatedWith
-import io.michaelrocks.grip.fields
-import io.michaelrocks.grip.methods
+import io.michaelrocks.grip.mirrors.FieldMirror
+import io.michaelrocks.grip.mirrors.MethodMirror
 import io.michaelrocks.grip.mirrors.Type
 import io.michaelrocks.grip.mirrors.isConstructor
 import io.michaelrocks.lightsaber.processor.ErrorReporter
@@ -31,12 +27,10 @@ import io.michaelrocks.lightsaber.processor.commons.given
 import io.michaelrocks.lightsaber.processor.logging.getLogger
 import io.michaelrocks.lightsaber.processor.model.InjectionPoint
 import io.michaelrocks.lightsaber.processor.model.InjectionTarget
-import java.io.File
 import java.util.ArrayList
-import java.util.HashSet
 
 interface InjectionTargetsAnalyzer {
-  fun analyze(files: Collection<File>): Result
+  fun analyze(): Result
 
   data class Result(
     val injectableTargets: Collection<InjectionTarget>,
@@ -45,30 +39,27 @@ interface InjectionTargetsAnalyzer {
 }
 
 class InjectionTargetsAnalyzerImpl(
-  private val grip: Grip,
+  private val annotationIndex: AnnotationIndex,
   private val analyzerHelper: AnalyzerHelper,
   private val errorReporter: ErrorReporter
 ) : InjectionTargetsAnalyzer {
 
   private val logger = getLogger()
 
-  override fun analyze(files: Collection<File>): InjectionTargetsAnalyzer.Result {
-    val context = createInjectionTargetsContext(files)
+  override fun analyze(): InjectionTargetsAnalyzer.Result {
+    val context = createInjectionTargetsContext()
     val injectableTargets = analyzeInjectableTargets(context)
     val providableTargets = analyzeProvidableTargets(context)
     return InjectionTargetsAnalyzer.Result(injectableTargets, providableTargets)
   }
 
-  private fun createInjectionTargetsContext(files: Collection<File>): InjectionTargetsContext {
-    val methodsQuery = grip select methods from files where annotatedWith(Types.INJECT_TYPE)
-    val fieldsQuery = grip select fields from files where annotatedWith(Types.INJECT_TYPE)
+  private fun createInjectionTargetsContext(): InjectionTargetsContext {
+    val methodsResult = annotationIndex.findMethodsAnnotatedWith(Types.INJECT_TYPE)
+    val fieldsResult = annotationIndex.findFieldsAnnotatedWith(Types.INJECT_TYPE)
 
-    val methodsResult = methodsQuery.execute()
-    val fieldsResult = fieldsQuery.execute()
-
-    val types = HashSet<Type.Object>(methodsResult.size + fieldsResult.size).apply {
-      addAll(methodsResult.types)
-      addAll(fieldsResult.types)
+    val types = LinkedHashSet<Type.Object>(methodsResult.size + fieldsResult.size).apply {
+      addAll(methodsResult.keys)
+      addAll(fieldsResult.keys)
     }
 
     return InjectionTargetsContext(types, methodsResult, fieldsResult)
@@ -115,7 +106,7 @@ class InjectionTargetsAnalyzerImpl(
 
   private class InjectionTargetsContext(
     val types: Collection<Type.Object>,
-    val methods: MethodsResult,
-    val fields: FieldsResult
+    val methods: Map<Type.Object, List<MethodMirror>>,
+    val fields: Map<Type.Object, List<FieldMirror>>
   )
 }
@@ -42,6 +42,7 @@ import io.michaelrocks.lightsaber.processor.commons.toFieldDescriptor
 import io.michaelrocks.lightsaber.processor.commons.toMethodDescriptor
 import io.michaelrocks.lightsaber.processor.descriptors.MethodDescriptor
 import io.michaelrocks.lightsaber.processor.logging.getLogger
+import io.michaelrocks.lightsaber.processor.model.AccessorInterface
 import io.michaelrocks.lightsaber.processor.model.Binding
 import io.michaelrocks.lightsaber.processor.model.Converter
 import io.michaelrocks.lightsaber.processor.model.Dependency
@@ -63,6 +64,7 @@ interface ModuleParser {
     importeeModuleTypes: Collection<Type.Object>,
     providableTargets: Collection<InjectionTarget>,
     factories: Collection<Factory>,
+    accessorInterfaces: Collection<AccessorInterface>,
     moduleRegistry: ModuleRegistry
   ): Module
 }
@@ -84,9 +86,11 @@ class ModuleParserImpl(
     importeeModuleTypes: Collection<Type.Object>,
     providableTargets: Collection<InjectionTarget>,
     factories: Collection<Factory>,
+    accessorInterfaces: Collection<AccessorInterface>,
     moduleRegistry: ModuleRegistry
   ): Module {
-    return parseModule(grip.classRegistry.getClassMirror(type), importeeModuleTypes, providableTargets, factories, moduleRegistry)
+    val mirror = grip.classRegistry.getClassMirror(type)
+    return parseModule(mirror, importeeModuleTypes, providableTargets, factories, accessorInterfaces, moduleRegistry)
   }
 
   private fun parseModule(
@@ -94,6 +98,7 @@ class ModuleParserImpl(
     importeeModuleTypes: Collection<Type.Object>,
     providableTargets: Collection<InjectionTarget>,
     factories: Collection<Factory>,
+    accessorInterfaces: Collection<AccessorInterface>,
     moduleRegistry: ModuleRegistry
   ): Module {
     if (mirror.signature.typeVariables.isNotEmpty()) {
@@ -111,14 +116,15 @@ class ModuleParserImpl(
     bridgeRegistry.clear()
     mirror.methods.forEach { bridgeRegistry.reserveMethod(it.toMethodDescriptor()) }
 
-    val providers = createProviders(mirror, providableTargets, factories)
-    return Module(mirror.type, moduleProviders, providers, factories)
+    val providers = createProviders(mirror, providableTargets, factories, accessorInterfaces)
+    return Module(mirror.type, moduleProviders, providers, factories, accessorInterfaces)
   }
 
   private fun createProviders(
     module: ClassMirror,
     providableTargets: Collection<InjectionTarget>,
-    factories: Collection<Factory>
+    factories: Collection<Factory>,
+    accessorInterfaces: Collection<AccessorInterface>
   ): Collection<Provider> {
     val isProvidable = (annotatedWith(Types.PROVIDES_TYPE) or annotatedWith(Types.PROVIDE_TYPE)) and not(isStatic())
     val methodsQuery = grip select methods from module where (isProvidable and methodType(not(returns(Type.Primitive.Void))))
@@ -155,13 +161,20 @@ class ModuleParserImpl(
       newFactoryProvider(module.type, factory)
     }
 
-    val providerCount = constructorProviders.size + methodProviders.size + fieldProviders.size + bindingProviders.size + factoryProviders.size
+    val accessorInterfaceProviders = accessorInterfaces.map { accessorInterface ->
+      logger.debug("  Accessors: {}", accessorInterface)
+      newAccessorInterfaceProvider(module.type, accessorInterface)
+    }
+
+    val providerCount = constructorProviders.size + methodProviders.size + fieldProviders.size + bindingProviders.size +
+        factoryProviders.size + accessorInterfaceProviders.size
     return ArrayList<Provider>(providerCount).apply {
       addAll(constructorProviders)
       addAll(methodProviders)
       addAll(fieldProviders)
       addAll(bindingProviders)
       addAll(factoryProviders)
+      addAll(accessorInterfaceProviders)
     }
   }
 
@@ -200,16 +213,38 @@ class ModuleParserImpl(
   }
 
   private fun newFactoryProvider(container: Type.Object, factory: Factory): Provider {
-    val mirror = grip.classRegistry.getClassMirror(factory.type)
     val providerType = getObjectTypeByInternalName("${container.internalName}\$${factory.type.internalName}\$FactoryProvider\$$projectName")
+    return newInjectorConstructorProvider(container, providerType, factory.type, factory.implementationType, factory.dependency)
+  }
+
+  private fun newAccessorInterfaceProvider(container: Type.Object, accessorInterface: AccessorInterface): Provider {
+    val type = accessorInterface.type
+    val providerType = getObjectTypeByInternalName("${container.internalName}\$${type.internalName}\$AccessorsProvider\$$projectName")
+    return newInjectorConstructorProvider(
+      container,
+      providerType,
+      type,
+      accessorInterface.implementationType,
+      accessorInterface.dependency
+    )
+  }
+
+  private fun newInjectorConstructorProvider(
+    container: Type.Object,
+    providerType: Type.Object,
+    type: Type.Object,
+    implementationType: Type.Object,
+    dependency: Dependency
+  ): Provider {
+    val mirror = grip.classRegistry.getClassMirror(type)
     val constructorMirror = MethodMirror.Builder()
       .access(ACC_PUBLIC)
       .name(MethodDescriptor.CONSTRUCTOR_NAME)
       .type(getMethodType(Type.Primitive.Void, Types.INJECTOR_TYPE))
       .build()
     val constructorInjectee = Injectee(Dependency(GenericType.Raw(Types.INJECTOR_TYPE)), Converter.Instance)
-    val injectionPoint = InjectionPoint.Method(factory.implementationType, constructorMirror, listOf(constructorInjectee))
-    val provisionPoint = ProvisionPoint.Constructor(factory.dependency, injectionPoint)
+    val injectionPoint = InjectionPoint.Method(implementationType, constructorMirror, listOf(constructorInjectee))
+    val provisionPoint = ProvisionPoint.Constructor(dependency, injectionPoint)
     val scope = analyzerHelper.findScope(mirror)
     return Provider(providerType, provisionPoint, container, scope)
   }
@@ -17,18 +17,16 @@
 package io.michaelrocks.lightsaber.processor.analysis
 
 import io.michaelrocks.grip.Grip
-import io.michaelrocks.grip.annotatedWith
-import io.michaelrocks.grip.classes
 import io.michaelrocks.grip.mirrors.ClassMirror
 import io.michaelrocks.grip.mirrors.Type
 import io.michaelrocks.lightsaber.ImportedBy
 import io.michaelrocks.lightsaber.ProvidedBy
 import io.michaelrocks.lightsaber.processor.ErrorReporter
 import io.michaelrocks.lightsaber.processor.commons.Types
+import io.michaelrocks.lightsaber.processor.model.AccessorInterface
 import io.michaelrocks.lightsaber.processor.model.Factory
 import io.michaelrocks.lightsaber.processor.model.InjectionTarget
 import io.michaelrocks.lightsaber.processor.model.Module
-import java.io.File
 import java.util.HashMap
 
 interface ModuleRegistry {
@@ -37,16 +35,16 @@ interface ModuleRegistry {
 
 class ModuleRegistryImpl(
   private val grip: Grip,
+  private val annotationIndex: AnnotationIndex,
   private val moduleParser: ModuleParser,
   private val errorReporter: ErrorReporter,
   providableTargets: Collection<InjectionTarget>,
   factories: Collection<Factory>,
-  files: Collection<File>
+  accessorInterfaces: Collection<AccessorInterface>
 ) : ModuleRegistry {
 
   private val externals by lazy(LazyThreadSafetyMode.NONE) {
-    val modulesQuery = grip select classes from files where annotatedWith(Types.MODULE_TYPE)
-    val modules = modulesQuery.execute().classes
+    val modules = annotationIndex.findClassesAnnotatedWith(Types.MODULE_TYPE)
 
     val defaultModuleTypes = modules.mapNotNull { mirror ->
       val annotation = checkNotNull(mirror.annotations[Types.MODULE_TYPE])
@@ -56,7 +54,8 @@ class ModuleRegistryImpl(
     Externals(
       importeeModulesByImporterModules = groupImporteeModulesByImporterModules(modules),
       providableTargetsByModules = groupProvidableTargetsByModules(providableTargets, defaultModuleTypes),
-      factoriesByModules = groupFactoriesByModules(factories, defaultModuleTypes)
+      factoriesByModules = groupFactoriesByModules(factories, defaultModuleTypes),
+      accessorInterfacesByModules = groupAccessorInterfacesByModules(accessorInterfaces, defaultModuleTypes)
     )
   }
 
@@ -141,22 +140,38 @@ class ModuleRegistryImpl(
     factories: Collection<Factory>,
     defaultModuleTypes: Collection<Type.Object>
   ): Map<Type.Object, List<Factory>> {
-    return HashMap<Type.Object, MutableList<Factory>>().also { factoriesByModule ->
-      factories.forEach { factory ->
-        val mirror = grip.classRegistry.getClassMirror(factory.type)
+    return groupByModules(factories, factories.map { it.type }, defaultModuleTypes, "Class")
+  }
+
+  private fun groupAccessorInterfacesByModules(
+    accessorInterfaces: Collection<AccessorInterface>,
+    defaultModuleTypes: Collection<Type.Object>
+  ): Map<Type.Object, List<AccessorInterface>> {
+    return groupByModules(accessorInterfaces, accessorInterfaces.map { it.type }, defaultModuleTypes, "Interface")
+  }
+
+  private fun <T> groupByModules(
+    elements: Collection<T>,
+    types: List<Type.Object>,
+    defaultModuleTypes: Collection<Type.Object>,
+    kind: String
+  ): Map<Type.Object, List<T>> {
+    return HashMap<Type.Object, MutableList<T>>().also { elementsByModule ->
+      elements.forEachIndexed { index, element ->
+        val mirror = grip.classRegistry.getClassMirror(types[index])
         val providedByAnnotation = mirror.annotations[Types.PROVIDED_BY_TYPE]
         val moduleTypes = if (providedByAnnotation != null) providedByAnnotation.values[ProvidedBy::value.name] as List<*> else defaultModuleTypes
 
         if (moduleTypes.isEmpty()) {
           errorReporter.reportError(
-            "Class ${factory.type.className} should be bound to at least one module. " +
+            "$kind ${mirror.type.className} should be bound to at least one module. " +
                 "You can annotate it with @ProvidedBy with a module list " +
                 "or make some of your modules default with @Module(isDefault = true)"
           )
         } else {
           moduleTypes.forEach { moduleType ->
             if (moduleType is Type.Object) {
-              factoriesByModule.getOrPut(moduleType, ::ArrayList).add(factory)
+              elementsByModule.getOrPut(moduleType, ::ArrayList).add(element)
             } else {
               errorReporter.reportError("A non-class type is specified in @ProvidedBy annotation for ${mirror.type.className}")
             }
@@ -171,8 +186,16 @@ class ModuleRegistryImpl(
     val importeeModuleTypes = externals.importeeModulesByImporterModules[moduleType].orEmpty()
     val providableTargetsForModuleType = externals.providableTargetsByModules[moduleType].orEmpty()
     val factoriesForModuleType = externals.factoriesByModules[moduleType].orEmpty()
+    val accessorInterfacesForModuleType = externals.accessorInterfacesByModules[moduleType].orEmpty()
     return modulesByTypes.getOrPut(moduleType) {
-      moduleParser.parseModule(moduleType, importeeModuleTypes, providableTargetsForModuleType, factoriesForModuleType, this)
+      moduleParser.parseModule(
+        moduleType,
+        importeeModuleTypes,
+        providableTargetsForModuleType,
+        factoriesForModuleType,
+        accessorInterfacesForModuleType,
+        this
+      )
     }
   }
 
@@ -194,6 +217,7 @@ class ModuleRegistryImpl(
   private class Externals(
     val importeeModulesByImporterModules: Map<Type.Object, Collection<Type.Object>>,
     val providableTargetsByModules: Map<Type.Object, Collection<InjectionTarget>>,
-    val factoriesByModules: Map<Type.Object, Collection<Factory>>
+    val factoriesByModules: Map<Type.Object, Collection<Factory>>,
+    val accessorInterfacesByModules: Map<Type.Object, Collection<AccessorInterface>>
   )
 }
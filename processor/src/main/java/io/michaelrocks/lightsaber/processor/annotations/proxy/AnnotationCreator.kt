@@ -25,15 +25,18 @@ import io.michaelrocks.grip.mirrors.getObjectTypeByInternalName
 import io.michaelrocks.lightsaber.processor.commons.GeneratorAdapter
 import io.michaelrocks.lightsaber.processor.descriptors.MethodDescriptor
 import io.michaelrocks.lightsaber.processor.generation.ClassProducer
+import io.michaelrocks.lightsaber.processor.generation.GenerationTaskRunner
 import java.lang.reflect.Array
-import java.util.HashSet
+import java.util.Collections
+import java.util.concurrent.ConcurrentHashMap
 
 class AnnotationCreator(
   private val classProducer: ClassProducer,
-  private val classRegistry: ClassRegistry
+  private val classRegistry: ClassRegistry,
+  private val taskRunner: GenerationTaskRunner
 ) {
 
-  private val generatedAnnotationProxies = HashSet<Type.Object>()
+  private val generatedAnnotationProxies = Collections.newSetFromMap(ConcurrentHashMap<Type.Object, Boolean>())
 
   fun newAnnotation(generator: GeneratorAdapter, data: AnnotationMirror) {
     val annotationProxyType = composeAnnotationProxyType(data.type)
@@ -48,9 +51,11 @@ class AnnotationCreator(
 
   private fun generateAnnotationProxyClassIfNecessary(annotation: ClassMirror, annotationProxyType: Type.Object) {
     if (generatedAnnotationProxies.add(annotationProxyType)) {
-      val generator = AnnotationProxyGenerator(classRegistry, annotation, annotationProxyType)
-      val annotationProxyClassData = generator.generate()
-      classProducer.produceClass(annotationProxyType.internalName, annotationProxyClassData)
+      taskRunner.submit {
+        val generator = AnnotationProxyGenerator(classRegistry, annotation, annotationProxyType)
+        val annotationProxyClassData = generator.generate()
+        classProducer.produceClass(annotationProxyType.internalName, annotationProxyClassData)
+      }
     }
   }
 
@@ -20,7 +20,7 @@ import org.objectweb.asm.AnnotationVisitor
 import org.objectweb.asm.Opcodes
 import java.util.ArrayList
 
-class CompositeAnnotationVisitor : AnnotationVisitor(Opcodes.ASM5), CompositeVisitor<AnnotationVisitor> {
+class CompositeAnnotationVisitor : AnnotationVisitor(Opcodes.ASM7), CompositeVisitor<AnnotationVisitor> {
   override val visitors = ArrayList<AnnotationVisitor>()
 
   override fun addVisitor(visitor: AnnotationVisitor) {
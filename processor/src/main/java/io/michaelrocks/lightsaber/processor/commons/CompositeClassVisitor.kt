@@ -25,7 +25,7 @@ import org.objectweb.asm.Opcodes
 import org.objectweb.asm.TypePath
 import java.util.ArrayList
 
-class CompositeClassVisitor : ClassVisitor(Opcodes.ASM5), CompositeVisitor<ClassVisitor> {
+class CompositeClassVisitor : ClassVisitor(Opcodes.ASM7), CompositeVisitor<ClassVisitor> {
   override val visitors = ArrayList<ClassVisitor>()
 
   override fun addVisitor(visitor: ClassVisitor) {
@@ -23,7 +23,7 @@ import org.objectweb.asm.Opcodes
 import org.objectweb.asm.TypePath
 import java.util.ArrayList
 
-class CompositeFieldVisitor : FieldVisitor(Opcodes.ASM5), CompositeVisitor<FieldVisitor> {
+class CompositeFieldVisitor : FieldVisitor(Opcodes.ASM7), CompositeVisitor<FieldVisitor> {
   override val visitors = ArrayList<FieldVisitor>()
 
   override fun addVisitor(visitor: FieldVisitor) {
@@ -25,7 +25,7 @@ import org.objectweb.asm.Opcodes
 import org.objectweb.asm.TypePath
 import java.util.ArrayList
 
-class CompositeMethodVisitor : MethodVisitor(Opcodes.ASM5), CompositeVisitor<MethodVisitor> {
+class CompositeMethodVisitor : MethodVisitor(Opcodes.ASM7), CompositeVisitor<MethodVisitor> {
   override val visitors = ArrayList<MethodVisitor>()
 
   override fun addVisitor(visitor: MethodVisitor) {
@@ -27,7 +27,7 @@ import org.objectweb.asm.ClassVisitor
 import org.objectweb.asm.Label
 import org.objectweb.asm.MethodVisitor
 import org.objectweb.asm.Opcodes.ACONST_NULL
-import org.objectweb.asm.Opcodes.ASM5
+import org.objectweb.asm.Opcodes.ASM7
 import org.objectweb.asm.Opcodes.DOUBLE
 import org.objectweb.asm.Opcodes.FLOAT
 import org.objectweb.asm.Opcodes.INTEGER
@@ -44,7 +44,7 @@ class GeneratorAdapter(
   access: Int,
   name: String,
   desc: String
-) : org.objectweb.asm.commons.GeneratorAdapter(ASM5, methodVisitor, access, name, desc) {
+) : org.objectweb.asm.commons.GeneratorAdapter(ASM7, methodVisitor, access, name, desc) {
 
   companion object {
     private fun visitMethod(
@@ -24,6 +24,9 @@ import io.michaelrocks.lightsaber.processor.logging.getLogger
 import org.objectweb.asm.ClassReader
 import org.objectweb.asm.ClassWriter
 import java.util.HashSet
+import java.util.WeakHashMap
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.ConcurrentMap
 
 class StandaloneClassWriter : ClassWriter {
   private val logger = getLogger()
@@ -38,6 +41,12 @@ class StandaloneClassWriter : ClassWriter {
   }
 
   override fun getCommonSuperClass(type1: String, type2: String): String {
+    // The result doesn't depend on the order of the types, so both orders share a single cache entry.
+    val key = if (type1 <= type2) type1 to type2 else type2 to type1
+    return getCommonSuperClassCache(classRegistry).getOrPut(key) { computeCommonSuperClass(type1, type2) }
+  }
+
+  private fun computeCommonSuperClass(type1: String, type2: String): String {
     val hierarchy = HashSet<Type>()
     for (mirror in classRegistry.findClassHierarchy(getObjectTypeByInternalName(type1))) {
       hierarchy.add(mirror.type)
@@ -59,4 +68,16 @@ class StandaloneClassWriter : ClassWriter {
       it.superType?.let { getClassMirror(it) }
     }
   }
+
+  companion object {
+    // Common super classes are shared by all the writers that use the same class registry. The registry is referenced
+    // weakly, so the cache doesn't outlive it.
+    private val commonSuperClassCaches = WeakHashMap<ClassRegistry, ConcurrentMap<Pair<String, String>, String>>()
+
+    private fun getCommonSuperClassCache(classRegistry: ClassRegistry): ConcurrentMap<Pair<String, String>, String> {
+      return synchronized(commonSuperClassCaches) {
+        commonSuperClassCaches.getOrPut(classRegistry) { ConcurrentHashMap() }
+      }
+    }
+  }
 }
@@ -21,7 +21,10 @@ package io.michaelrocks.lightsaber.processor.commons
 import io.michaelrocks.bimap.BiMap
 import io.michaelrocks.bimap.HashBiMap
 import io.michaelrocks.grip.mirrors.Type
+import io.michaelrocks.grip.mirrors.getArrayType
 import io.michaelrocks.grip.mirrors.getObjectType
+import io.michaelrocks.grip.mirrors.getObjectTypeByInternalName
+import io.michaelrocks.lightsaber.Accessors
 import io.michaelrocks.lightsaber.Component
 import io.michaelrocks.lightsaber.Factory
 import io.michaelrocks.lightsaber.Import
@@ -38,10 +41,13 @@ import javax.inject.Inject
 import javax.inject.Provider
 import javax.inject.Qualifier
 import javax.inject.Singleton
+import java.lang.invoke.MethodHandle
+import java.lang.invoke.MethodHandles
 import java.lang.reflect.Type as JavaType
 
 object Types {
   val OBJECT_TYPE = getObjectType<Any>()
+  val OBJECT_ARRAY_TYPE = getArrayType<Array<Any>>()
   val STRING_TYPE = getObjectType<String>()
   val INJECT_TYPE = getObjectType<Inject>()
   val IMPORT_TYPE = getObjectType<Import>()
@@ -59,6 +65,7 @@ object Types {
   val FACTORY_INJECT_TYPE = getObjectType<Factory.Inject>()
   val FACTORY_PARAMETER_TYPE = getObjectType<Factory.Parameter>()
   val FACTORY_RETURN_TYPE = getObjectType<Factory.Return>()
+  val ACCESSORS_TYPE = getObjectType<Accessors>()
   val INJECTOR_TYPE = getObjectType<Injector>()
   val PROVIDER_TYPE = getObjectType<Provider<*>>()
   val LAZY_TYPE = getObjectType<Lazy<*>>()
@@ -66,6 +73,10 @@ object Types {
   val CLASS_TYPE = getObjectType<Class<*>>()
   val TYPE_TYPE = getObjectType<JavaType>()
   val ANNOTATION_TYPE = getObjectType<Annotation>()
+  val METHOD_HANDLE_TYPE = getObjectType<MethodHandle>()
+  val METHOD_HANDLES_LOOKUP_TYPE = getObjectType<MethodHandles.Lookup>()
+  // ConstantBootstraps exists since Java 11 so it cannot be referenced while the processor runs on Java 8.
+  val CONSTANT_BOOTSTRAPS_TYPE = getObjectTypeByInternalName("java/lang/invoke/ConstantBootstraps")
 
   val BOXED_VOID_TYPE = getObjectType<Void>()
   val BOXED_BOOLEAN_TYPE = getObjectType<Boolean>()
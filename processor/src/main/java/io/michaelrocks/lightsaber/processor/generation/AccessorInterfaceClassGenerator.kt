@@ -0,0 +1,200 @@
+/*
+ * Copyright 2020 Michael Rozumyanskiy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.michaelrocks.lightsaber.processor.generation
+
+import io.michaelrocks.grip.ClassRegistry
+import io.michaelrocks.lightsaber.processor.commons.GeneratorAdapter
+import io.michaelrocks.lightsaber.processor.commons.StandaloneClassWriter
+import io.michaelrocks.lightsaber.processor.commons.Types
+import io.michaelrocks.lightsaber.processor.commons.boxed
+import io.michaelrocks.lightsaber.processor.commons.newMethod
+import io.michaelrocks.lightsaber.processor.commons.rawType
+import io.michaelrocks.lightsaber.processor.commons.toMethodDescriptor
+import io.michaelrocks.lightsaber.processor.descriptors.FieldDescriptor
+import io.michaelrocks.lightsaber.processor.descriptors.MethodDescriptor
+import io.michaelrocks.lightsaber.processor.descriptors.descriptor
+import io.michaelrocks.lightsaber.processor.generation.model.KeyRegistry
+import io.michaelrocks.lightsaber.processor.model.Accessor
+import io.michaelrocks.lightsaber.processor.model.AccessorInterface
+import io.michaelrocks.lightsaber.processor.model.Converter
+import io.michaelrocks.lightsaber.processor.model.Dependency
+import io.michaelrocks.lightsaber.processor.model.Provider
+import io.michaelrocks.lightsaber.processor.watermark.WatermarkClassVisitor
+import org.objectweb.asm.ClassVisitor
+import org.objectweb.asm.ClassWriter
+import org.objectweb.asm.Opcodes.ACC_FINAL
+import org.objectweb.asm.Opcodes.ACC_PRIVATE
+import org.objectweb.asm.Opcodes.ACC_PUBLIC
+import org.objectweb.asm.Opcodes.ACC_SUPER
+import org.objectweb.asm.Opcodes.V1_6
+import org.objectweb.asm.commons.GeneratorAdapter.EQ
+
+/**
+ * Generates an implementation of an accessor interface. The implementation gets the providers of its accessors from the
+ * injector passed to its constructor and keeps them in final fields, so each instance is bound to a single injector.
+ *
+ * When the generated provider of a dependency is known at compile time and the injector returns an instance of it, the
+ * provider is also kept in a field of its own class. The accessor then calls the generated provider with a statically
+ * bound call and falls back to [javax.inject.Provider.get] only if the provider has been intercepted or overridden.
+ */
+class AccessorInterfaceClassGenerator(
+  private val classRegistry: ClassRegistry,
+  private val keyRegistry: KeyRegistry,
+  private val accessorInterface: AccessorInterface,
+  private val directProviders: Map<Dependency, Provider> = emptyMap(),
+  private val classVersion: Int = V1_6
+) {
+
+  fun generate(): ByteArray {
+    val classWriter = StandaloneClassWriter(ClassWriter.COMPUTE_FRAMES or ClassWriter.COMPUTE_MAXS, classRegistry)
+    val classVisitor = WatermarkClassVisitor(classWriter, true)
+    classVisitor.visit(
+      classVersion,
+      ACC_PUBLIC or ACC_SUPER,
+      accessorInterface.implementationType.internalName,
+      null,
+      Types.OBJECT_TYPE.internalName,
+      arrayOf(accessorInterface.type.internalName)
+    )
+
+    generateFields(classVisitor)
+    generateConstructor(classVisitor)
+    generateMethods(classVisitor)
+
+    classVisitor.visitEnd()
+    return classWriter.toByteArray()
+  }
+
+  private fun generateFields(classVisitor: ClassVisitor) {
+    accessorInterface.accessors.forEachIndexed { index, accessor ->
+      generateField(classVisitor, getProviderField(index))
+      findDirectProvider(accessor)?.also { provider ->
+        // The field stays null when the provider has been replaced, which the JVM allows for a final field.
+        generateField(classVisitor, getDirectProviderField(index, provider))
+      }
+    }
+  }
+
+  private fun generateField(classVisitor: ClassVisitor, field: FieldDescriptor) {
+    val fieldVisitor = classVisitor.visitField(ACC_PRIVATE or ACC_FINAL, field.name, field.descriptor, null, null)
+    fieldVisitor.visitEnd()
+  }
+
+  private fun generateConstructor(classVisitor: ClassVisitor) {
+    classVisitor.newMethod(ACC_PUBLIC, CONSTRUCTOR) {
+      loadThis()
+      invokeConstructor(Types.OBJECT_TYPE, MethodDescriptor.forDefaultConstructor())
+
+      accessorInterface.accessors.forEachIndexed { index, accessor ->
+        loadThis()
+        loadArg(0)
+        getProvider(keyRegistry, accessor.injectee.dependency)
+        putField(accessorInterface.implementationType, getProviderField(index))
+
+        findDirectProvider(accessor)?.also { provider ->
+          val skipLabel = newLabel()
+          loadThis()
+          getField(accessorInterface.implementationType, getProviderField(index))
+          instanceOf(provider.type)
+          ifZCmp(EQ, skipLabel)
+          loadThis()
+          loadThis()
+          getField(accessorInterface.implementationType, getProviderField(index))
+          checkCast(provider.type)
+          putField(accessorInterface.implementationType, getDirectProviderField(index, provider))
+          visitLabel(skipLabel)
+        }
+      }
+    }
+  }
+
+  private fun generateMethods(classVisitor: ClassVisitor) {
+    accessorInterface.accessors.forEachIndexed { index, accessor ->
+      classVisitor.newMethod(ACC_PUBLIC, accessor.method.toMethodDescriptor()) {
+        val provider = findDirectProvider(accessor)
+        if (provider != null) {
+          getFromDirectProvider(index, accessor, provider)
+        } else {
+          loadThis()
+          getField(accessorInterface.implementationType, getProviderField(index))
+          convertProvider(accessor)
+        }
+      }
+    }
+  }
+
+  private fun GeneratorAdapter.getFromDirectProvider(index: Int, accessor: Accessor, provider: Provider) {
+    val fallbackLabel = newLabel()
+    val convertLabel = newLabel()
+    loadThis()
+    getField(accessorInterface.implementationType, getDirectProviderField(index, provider))
+    dup()
+    ifNull(fallbackLabel)
+    invokeVirtual(provider.type, GET_METHOD)
+    goTo(convertLabel)
+
+    visitLabel(fallbackLabel)
+    pop()
+    loadThis()
+    getField(accessorInterface.implementationType, getProviderField(index))
+    invokeInterface(Types.PROVIDER_TYPE, GET_METHOD)
+
+    visitLabel(convertLabel)
+    unbox(accessor.injectee.dependency.type.rawType)
+  }
+
+  private fun findDirectProvider(accessor: Accessor): Provider? {
+    if (accessor.injectee.converter !is Converter.Instance) {
+      return null
+    }
+
+    return directProviders[accessor.injectee.dependency.boxed()]
+  }
+
+  private fun GeneratorAdapter.convertProvider(accessor: Accessor) {
+    val converter = accessor.injectee.converter
+    when (converter) {
+      is Converter.Identity -> Unit
+
+      is Converter.Instance -> {
+        invokeInterface(Types.PROVIDER_TYPE, GET_METHOD)
+        unbox(accessor.injectee.dependency.type.rawType)
+      }
+
+      is Converter.Adapter -> {
+        newInstance(converter.adapterType)
+        dupX1()
+        swap()
+        invokeConstructor(converter.adapterType, ADAPTER_CONSTRUCTOR)
+      }
+    }
+  }
+
+  private fun getProviderField(index: Int): FieldDescriptor {
+    return FieldDescriptor("provider$index", Types.PROVIDER_TYPE)
+  }
+
+  private fun getDirectProviderField(index: Int, provider: Provider): FieldDescriptor {
+    return FieldDescriptor("directProvider$index", provider.type)
+  }
+
+  companion object {
+    private val CONSTRUCTOR = MethodDescriptor.forConstructor(Types.INJECTOR_TYPE)
+    private val ADAPTER_CONSTRUCTOR = MethodDescriptor.forConstructor(Types.PROVIDER_TYPE)
+    private val GET_METHOD = MethodDescriptor.forMethod("get", Types.OBJECT_TYPE)
+  }
+}
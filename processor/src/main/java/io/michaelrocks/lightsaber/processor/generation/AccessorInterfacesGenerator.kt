@@ -0,0 +1,81 @@
+/*
+ * Copyright 2020 Michael Rozumyanskiy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.michaelrocks.lightsaber.processor.generation
+
+import io.michaelrocks.grip.ClassRegistry
+import io.michaelrocks.grip.mirrors.Type
+import io.michaelrocks.lightsaber.processor.commons.boxed
+import io.michaelrocks.lightsaber.processor.generation.model.GenerationContext
+import io.michaelrocks.lightsaber.processor.logging.getLogger
+import io.michaelrocks.lightsaber.processor.model.Component
+import io.michaelrocks.lightsaber.processor.model.Dependency
+import io.michaelrocks.lightsaber.processor.model.InjectionContext
+import io.michaelrocks.lightsaber.processor.model.Provider
+import java.util.HashMap
+
+class AccessorInterfacesGenerator(
+  private val classProducer: ClassProducer,
+  private val classRegistry: ClassRegistry,
+  private val taskRunner: GenerationTaskRunner
+) {
+
+  private val logger = getLogger()
+
+  fun generate(injectionContext: InjectionContext, generationContext: GenerationContext) {
+    val directProvidersByAccessorInterfaceType = findDirectProviders(injectionContext)
+    injectionContext.accessorInterfaces.forEach { accessorInterface ->
+      taskRunner.submit {
+        logger.debug("Generating accessors {}", accessorInterface.implementationType.className)
+        val generator = AccessorInterfaceClassGenerator(
+          classRegistry,
+          generationContext.keyRegistry,
+          accessorInterface,
+          directProvidersByAccessorInterfaceType[accessorInterface.type].orEmpty(),
+          generationContext.classVersion
+        )
+        val accessorsClassData = generator.generate()
+        classProducer.produceClass(accessorInterface.implementationType.internalName, accessorsClassData)
+      }
+    }
+  }
+
+  // An accessor interface is created by the injector of a component that contains a module providing the interface, so
+  // it resolves dependencies from that component and its ancestors. A provider can be bound directly only if it's the
+  // same in every component the interface is provided in.
+  private fun findDirectProviders(injectionContext: InjectionContext): Map<Type.Object, Map<Dependency, Provider>> {
+    val directProvidersByAccessorInterfaceType = HashMap<Type.Object, Map<Dependency, Provider>>()
+    injectionContext.components.forEach { component ->
+      val providers = HashMap<Dependency, Provider>()
+      var ancestor: Component? = component
+      while (ancestor != null) {
+        ancestor.getModulesWithDescendants()
+          .flatMap { it.providers.asSequence() }
+          .associateByTo(providers) { it.dependency.boxed() }
+        ancestor = ancestor.parent?.let { injectionContext.findComponentByType(it) }
+      }
+
+      component.getModulesWithDescendants()
+        .flatMap { it.accessorInterfaces.asSequence() }
+        .forEach { accessorInterface ->
+          val existingProviders = directProvidersByAccessorInterfaceType[accessorInterface.type]
+          directProvidersByAccessorInterfaceType[accessorInterface.type] =
+            if (existingProviders == null) providers else existingProviders.filter { providers[it.key] == it.value }
+        }
+    }
+    return directProvidersByAccessorInterfaceType
+  }
+}
@@ -23,17 +23,22 @@ import io.michaelrocks.lightsaber.processor.model.InjectionContext
 
 class FactoriesGenerator(
   private val classProducer: ClassProducer,
-  private val classRegistry: ClassRegistry
+  private val classRegistry: ClassRegistry,
+  private val taskRunner: GenerationTaskRunner
 ) {
 
   private val logger = getLogger()
 
   fun generate(injectionContext: InjectionContext, generationContext: GenerationContext) {
     injectionContext.factories.forEach { factory ->
-      logger.debug("Generating factory {}", factory.implementationType.className)
-      val generator = FactoryClassGenerator(classRegistry, generationContext.keyRegistry, injectionContext, factory)
-      val factoryClassData = generator.generate()
-      classProducer.produceClass(factory.implementationType.internalName, factoryClassData)
+      taskRunner.submit {
+        logger.debug("Generating factory {}", factory.implementationType.className)
+        val generator = FactoryClassGenerator(
+          classRegistry, generationContext.keyRegistry, injectionContext, factory, generationContext.classVersion
+        )
+        val factoryClassData = generator.generate()
+        classProducer.produceClass(factory.implementationType.internalName, factoryClassData)
+      }
     }
   }
 }
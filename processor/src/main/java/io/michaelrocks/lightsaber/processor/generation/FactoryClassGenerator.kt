@@ -43,14 +43,15 @@ class FactoryClassGenerator(
   private val classRegistry: ClassRegistry,
   private val keyRegistry: KeyRegistry,
   private val injectionContext: InjectionContext,
-  private val factory: Factory
+  private val factory: Factory,
+  private val classVersion: Int = V1_6
 ) {
 
   fun generate(): ByteArray {
     val classWriter = StandaloneClassWriter(ClassWriter.COMPUTE_FRAMES or ClassWriter.COMPUTE_MAXS, classRegistry)
     val classVisitor = WatermarkClassVisitor(classWriter, true)
     classVisitor.visit(
-      V1_6,
+      classVersion,
       ACC_PUBLIC or ACC_SUPER,
       factory.implementationType.internalName,
       null,
@@ -24,38 +24,50 @@ import io.michaelrocks.grip.mirrors.isPublic
 import io.michaelrocks.grip.mirrors.packageName
 import io.michaelrocks.grip.mirrors.signature.GenericType
 import io.michaelrocks.lightsaber.processor.commons.Types
-import io.michaelrocks.lightsaber.processor.commons.associateByIndexedNotNullTo
 import io.michaelrocks.lightsaber.processor.commons.associateByIndexedTo
 import io.michaelrocks.lightsaber.processor.commons.boxed
 import io.michaelrocks.lightsaber.processor.descriptors.FieldDescriptor
+import io.michaelrocks.lightsaber.processor.descriptors.MethodDescriptor
 import io.michaelrocks.lightsaber.processor.generation.model.GenerationContext
 import io.michaelrocks.lightsaber.processor.generation.model.Key
+import io.michaelrocks.lightsaber.processor.generation.model.KeyHolder
 import io.michaelrocks.lightsaber.processor.generation.model.KeyRegistry
+import io.michaelrocks.lightsaber.processor.generation.model.NestRegistry
 import io.michaelrocks.lightsaber.processor.generation.model.PackageInvader
 import io.michaelrocks.lightsaber.processor.model.Dependency
 import io.michaelrocks.lightsaber.processor.model.InjectionContext
+import org.objectweb.asm.Opcodes
 import java.util.HashMap
 
 class GenerationContextFactory(
   private val fileRegistry: FileRegistry,
   private val classRegistry: ClassRegistry,
-  private val projectName: String
+  private val projectName: String,
+  private val targetJavaVersion: Int = 6
 ) {
 
+  private val isJava11Target = targetJavaVersion >= JAVA_11_VERSION
+  private val generatedTypes = HashSet<Type.Object>()
+
   fun createGenerationContext(injectionContext: InjectionContext): GenerationContext {
     val dependencies = findAllDependencies(injectionContext)
     return GenerationContext(
       composePackageInvaders(dependencies),
-      composeKeyRegistry(dependencies)
+      composeKeyRegistry(dependencies),
+      if (isJava11Target) Opcodes.V11 else Opcodes.V1_6,
+      if (isJava11Target) NestRegistry() else null
     )
   }
 
   private fun findAllDependencies(context: InjectionContext): Collection<Dependency> {
-    return context.components.asSequence()
+    val providerDependencies = context.components.asSequence()
       .flatMap { it.getModulesWithDescendants() }
       .flatMap { it.providers.asSequence() }
       .map { it.dependency }
-      .toSet()
+    val accessorDependencies = context.accessorInterfaces.asSequence()
+      .flatMap { it.accessors.asSequence() }
+      .map { it.injectee.dependency }
+    return (providerDependencies + accessorDependencies).toSet()
   }
 
   private fun composePackageInvaders(dependencies: Collection<Dependency>): Collection<PackageInvader> {
@@ -72,12 +84,12 @@ class GenerationContextFactory(
         val (packageName, types) = it
         val packageInvaderType =
           createUniqueObjectTypeByInternalName("$packageName/Lightsaber\$PackageInvader\$$projectName")
-        val fields = types.associateByIndexedTo(
+        val methods = types.associateByIndexedTo(
           HashMap(),
           { _, type -> type },
-          { index, _ -> FieldDescriptor("class$index", Types.CLASS_TYPE) }
+          { index, _ -> MethodDescriptor.forMethod("class$index", Types.CLASS_TYPE) }
         )
-        PackageInvader(packageInvaderType, packageName, fields)
+        PackageInvader(packageInvaderType, packageName, methods)
       }
   }
 
@@ -119,30 +131,57 @@ class GenerationContextFactory(
   }
 
   private fun composeKeyRegistry(dependencies: Collection<Dependency>): KeyRegistry {
-    val type = createUniqueObjectTypeByInternalName("io/michaelrocks/lightsaber/KeyRegistry\$$projectName")
-    val keys = dependencies.associateByIndexedNotNullTo(
-      HashMap(),
-      { _, dependency -> dependency.boxed() },
-      { index, dependency -> maybeComposeKey("key$index", dependency) }
-    )
-    return KeyRegistry(type, keys)
+    // Keys are split between holder classes so only the holders whose keys are actually used get initialized.
+    // Dependencies come in the order of modules so a holder usually contains keys of a few adjacent modules.
+    val holders = dependencies
+      .map { it.boxed() }
+      .distinct()
+      .filter { it.qualifier != null || it.type !is GenericType.Raw }
+      .chunked(KEYS_PER_HOLDER)
+      .mapIndexed { holderIndex, holderDependencies ->
+        val type = createUniqueObjectTypeByInternalName("io/michaelrocks/lightsaber/KeyRegistry\$$projectName\$$holderIndex")
+        // Classes targeting Java 11 load keys as dynamic constants created by factory methods. The holder is still
+        // generated for patched classes with older class file versions that cannot use dynamic constants.
+        val factoryType = if (isJava11Target) composeKeyFactoryType(type) else null
+        val keys = holderDependencies.associateByIndexedTo(
+          LinkedHashMap(),
+          { _, dependency -> dependency },
+          { index, dependency -> composeKey(type, factoryType, "key$index", dependency) }
+        )
+        KeyHolder(type, keys, factoryType)
+      }
+    return KeyRegistry(holders, isJava11Target)
   }
 
-  private fun maybeComposeKey(name: String, dependency: Dependency): Key? {
-    return when {
-      dependency.qualifier != null -> Key.QualifiedType(FieldDescriptor(name, Types.KEY_TYPE))
-      dependency.type !is GenericType.Raw -> Key.Type(FieldDescriptor(name, Types.TYPE_TYPE))
-      else -> null
+  private fun composeKeyFactoryType(holderType: Type.Object): Type.Object {
+    return createUniqueObjectTypeByInternalName("${holderType.internalName}\$Factory")
+  }
+
+  private fun composeKey(holderType: Type.Object, factoryType: Type.Object?, name: String, dependency: Dependency): Key {
+    return if (dependency.qualifier != null) {
+      Key.QualifiedType(holderType, FieldDescriptor(name, Types.KEY_TYPE), factoryType)
+    } else {
+      Key.Type(holderType, FieldDescriptor(name, Types.TYPE_TYPE), factoryType)
     }
   }
 
   private fun createUniqueObjectTypeByInternalName(internalName: String): Type.Object {
     val type = getObjectTypeByInternalName(internalName)
-    return if (type !in fileRegistry) type else createUniqueObjectTypeByInternalName(internalName, 0)
+    return if (reserveType(type)) type else createUniqueObjectTypeByInternalName(internalName, 0)
   }
 
   private tailrec fun createUniqueObjectTypeByInternalName(internalName: String, index: Int): Type.Object {
-    val type = getObjectTypeByInternalName(internalName + index)
-    return if (type !in fileRegistry) type else createUniqueObjectTypeByInternalName(internalName, index + 1)
+    // The separator keeps fallback names apart from generated names that end with an index themselves.
+    val type = getObjectTypeByInternalName("$internalName\$$index")
+    return if (reserveType(type)) type else createUniqueObjectTypeByInternalName(internalName, index + 1)
+  }
+
+  private fun reserveType(type: Type.Object): Boolean {
+    return type !in fileRegistry && generatedTypes.add(type)
+  }
+
+  companion object {
+    private const val KEYS_PER_HOLDER = 32
+    private const val JAVA_11_VERSION = 11
   }
 }
@@ -0,0 +1,41 @@
+/*
+ * Copyright 2020 Michael Rozumyanskiy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.michaelrocks.lightsaber.processor.generation
+
+import io.michaelrocks.lightsaber.processor.commons.getOrRethrow
+import java.util.concurrent.ConcurrentLinkedQueue
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Future
+
+/**
+ * Runs generation tasks on an executor. Tasks may submit other tasks while they're running, and [awaitAll] waits for
+ * these tasks as well since they're queued before the task that submits them completes.
+ */
+class GenerationTaskRunner(private val executor: ExecutorService) {
+  private val futures = ConcurrentLinkedQueue<Future<*>>()
+
+  fun submit(task: () -> Unit) {
+    futures += executor.submit(task)
+  }
+
+  fun awaitAll() {
+    while (true) {
+      val future = futures.poll() ?: return
+      future.getOrRethrow()
+    }
+  }
+}
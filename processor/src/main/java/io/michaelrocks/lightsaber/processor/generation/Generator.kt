@@ -22,6 +22,7 @@ import io.michaelrocks.lightsaber.processor.annotations.proxy.AnnotationCreator
 import io.michaelrocks.lightsaber.processor.generation.model.GenerationContext
 import io.michaelrocks.lightsaber.processor.io.FileSink
 import io.michaelrocks.lightsaber.processor.model.InjectionContext
+import java.util.concurrent.Executors
 
 class Generator(
   private val classRegistry: ClassRegistry,
@@ -30,34 +31,61 @@ class Generator(
 ) {
 
   private val classProducer = ProcessorClassProducer(fileSink, errorReporter)
-  private val annotationCreator = AnnotationCreator(classProducer, classRegistry)
 
   fun generate(injectionContext: InjectionContext, generationContext: GenerationContext) {
-    generateProviders(injectionContext, generationContext)
-    generateFactories(injectionContext, generationContext)
-    generatePackageInvaders(generationContext)
-    generateKeyRegistry(generationContext)
+    // Every class is generated by a separate task, so the class registry and the file sink must be thread-safe.
+    val executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors())
+    try {
+      val taskRunner = GenerationTaskRunner(executor)
+      generateProviders(taskRunner, injectionContext, generationContext)
+      generateFactories(taskRunner, injectionContext, generationContext)
+      generateAccessorInterfaces(taskRunner, injectionContext, generationContext)
+      generatePackageInvaders(taskRunner, generationContext)
+      generateKeyRegistry(taskRunner, generationContext)
+      taskRunner.awaitAll()
+    } finally {
+      executor.shutdownNow()
+    }
 
     fileSink.flush()
   }
 
-  private fun generateProviders(injectionContext: InjectionContext, generationContext: GenerationContext) {
-    val generator = ProvidersGenerator(classProducer, classRegistry)
+  private fun generateProviders(
+    taskRunner: GenerationTaskRunner,
+    injectionContext: InjectionContext,
+    generationContext: GenerationContext
+  ) {
+    val generator = ProvidersGenerator(classProducer, classRegistry, taskRunner)
     generator.generate(injectionContext, generationContext)
   }
 
-  private fun generateFactories(injectionContext: InjectionContext, generationContext: GenerationContext) {
-    val generator = FactoriesGenerator(classProducer, classRegistry)
+  private fun generateFactories(
+    taskRunner: GenerationTaskRunner,
+    injectionContext: InjectionContext,
+    generationContext: GenerationContext
+  ) {
+    val generator = FactoriesGenerator(classProducer, classRegistry, taskRunner)
     generator.generate(injectionContext, generationContext)
   }
 
-  private fun generatePackageInvaders(generationContext: GenerationContext) {
-    val generator = PackageInvadersGenerator(classProducer, classRegistry)
+  private fun generateAccessorInterfaces(
+    taskRunner: GenerationTaskRunner,
+    injectionContext: InjectionContext,
+    generationContext: GenerationContext
+  ) {
+    val generator = AccessorInterfacesGenerator(classProducer, classRegistry, taskRunner)
+    generator.generate(injectionContext, generationContext)
+  }
+
+  private fun generatePackageInvaders(taskRunner: GenerationTaskRunner, generationContext: GenerationContext) {
+    val generator = PackageInvadersGenerator(classProducer, classRegistry, taskRunner)
     generator.generate(generationContext)
   }
 
-  private fun generateKeyRegistry(generationContext: GenerationContext) {
-    val generator = KeyRegistryClassGenerator(classProducer, classRegistry, annotationCreator, generationContext)
+  private fun generateKeyRegistry(taskRunner: GenerationTaskRunner, generationContext: GenerationContext) {
+    val annotationCreator = AnnotationCreator(classProducer, classRegistry, taskRunner)
+    val generator =
+      KeyRegistryClassGenerator(classProducer, classRegistry, annotationCreator, generationContext, taskRunner)
     generator.generate()
   }
 }
@@ -24,6 +24,7 @@ import io.michaelrocks.lightsaber.processor.commons.Types
 import io.michaelrocks.lightsaber.processor.commons.boxed
 import io.michaelrocks.lightsaber.processor.commons.rawType
 import io.michaelrocks.lightsaber.processor.descriptors.MethodDescriptor
+import io.michaelrocks.lightsaber.processor.descriptors.descriptor
 import io.michaelrocks.lightsaber.processor.generation.model.Key
 import io.michaelrocks.lightsaber.processor.generation.model.KeyRegistry
 import io.michaelrocks.lightsaber.processor.model.Converter
@@ -31,6 +32,10 @@ import io.michaelrocks.lightsaber.processor.model.Dependency
 import io.michaelrocks.lightsaber.processor.model.Injectee
 import io.michaelrocks.lightsaber.processor.model.Provider
 import io.michaelrocks.lightsaber.processor.model.Scope
+import io.michaelrocks.lightsaber.processor.model.isSingleton
+import org.objectweb.asm.ConstantDynamic
+import org.objectweb.asm.Handle
+import org.objectweb.asm.Opcodes.H_INVOKESTATIC
 
 private val ADAPTER_CONSTRUCTOR = MethodDescriptor.forConstructor(Types.PROVIDER_TYPE)
 
@@ -55,8 +60,34 @@ private val REGISTER_PROVIDER_FOR_TYPE_METHOD =
 private val REGISTER_PROVIDER_FOR_KEY_METHOD =
   MethodDescriptor.forMethod("registerProvider", Type.Primitive.Void, Types.KEY_TYPE, Types.PROVIDER_TYPE)
 
+private val REGISTER_OVERRIDE_FOR_CLASS_METHOD =
+  MethodDescriptor.forMethod("registerOverride", Type.Primitive.Boolean, Types.CLASS_TYPE)
+private val REGISTER_OVERRIDE_FOR_TYPE_METHOD =
+  MethodDescriptor.forMethod("registerOverride", Type.Primitive.Boolean, Types.TYPE_TYPE)
+private val REGISTER_OVERRIDE_FOR_KEY_METHOD =
+  MethodDescriptor.forMethod("registerOverride", Type.Primitive.Boolean, Types.KEY_TYPE)
+
 private val DELEGATE_PROVIDER_CONSTRUCTOR = MethodDescriptor.forConstructor(Types.PROVIDER_TYPE)
 
+private val INVOKE_METHOD =
+  MethodDescriptor.forMethod(
+    "invoke",
+    Types.OBJECT_TYPE,
+    Types.METHOD_HANDLES_LOOKUP_TYPE,
+    Types.STRING_TYPE,
+    Types.CLASS_TYPE,
+    Types.METHOD_HANDLE_TYPE,
+    Types.OBJECT_ARRAY_TYPE
+  )
+private val INVOKE_HANDLE =
+  Handle(
+    H_INVOKESTATIC,
+    Types.CONSTANT_BOOTSTRAPS_TYPE.internalName,
+    INVOKE_METHOD.name,
+    INVOKE_METHOD.descriptor,
+    false
+  )
+
 fun GeneratorAdapter.getDependency(keyRegistry: KeyRegistry, injectee: Injectee) {
   when (injectee.converter) {
     is Converter.Identity -> {
@@ -103,9 +134,11 @@ fun GeneratorAdapter.getInstance(keyRegistry: KeyRegistry, dependency: Dependenc
 fun GeneratorAdapter.registerProvider(keyRegistry: KeyRegistry, provider: Provider, providerCreator: () -> Unit) {
   val key = pushTypeOrKey(keyRegistry, provider.dependency)
 
-  when (provider.scope) {
-    is Scope.Class -> newDelegator(provider.scope.scopeType, providerCreator)
-    is Scope.None -> providerCreator()
+  // Singleton providers keep their instances in the singleton storage of the injector by themselves.
+  when {
+    provider.isSingleton -> providerCreator()
+    provider.scope is Scope.Class -> newDelegator(provider.scope.scopeType, providerCreator)
+    provider.scope is Scope.None -> providerCreator()
   }
 
   when (key) {
@@ -115,6 +148,14 @@ fun GeneratorAdapter.registerProvider(keyRegistry: KeyRegistry, provider: Provid
   }
 }
 
+fun GeneratorAdapter.registerOverride(keyRegistry: KeyRegistry, provider: Provider) {
+  when (pushTypeOrKey(keyRegistry, provider.dependency)) {
+    null -> invokeVirtual(LightsaberTypes.LIGHTSABER_INJECTOR_TYPE, REGISTER_OVERRIDE_FOR_CLASS_METHOD)
+    is Key.Type -> invokeVirtual(LightsaberTypes.LIGHTSABER_INJECTOR_TYPE, REGISTER_OVERRIDE_FOR_TYPE_METHOD)
+    is Key.QualifiedType -> invokeVirtual(LightsaberTypes.LIGHTSABER_INJECTOR_TYPE, REGISTER_OVERRIDE_FOR_KEY_METHOD)
+  }
+}
+
 private fun GeneratorAdapter.newDelegator(scopeType: Type, providerCreator: () -> Unit) {
   newInstance(scopeType)
   dup()
@@ -124,14 +165,25 @@ private fun GeneratorAdapter.newDelegator(scopeType: Type, providerCreator: () -
 
 private fun GeneratorAdapter.pushTypeOrKey(keyRegistry: KeyRegistry, dependency: Dependency): Key? {
   val key = keyRegistry.keys[dependency.boxed()]
+  val factoryType = key?.factoryType
   if (key == null) {
     push(dependency.type)
+  } else if (keyRegistry.isConstantDynamicEnabled && factoryType != null) {
+    visitLdcInsn(key.toConstantDynamic(factoryType))
   } else {
-    getStatic(keyRegistry.type, key.field)
+    getStatic(key.holderType, key.field)
   }
   return key
 }
 
+// The JVM resolves a dynamic constant once per constant pool, so every class loading the key calls the factory once.
+private fun Key.toConstantDynamic(factoryType: Type.Object): ConstantDynamic {
+  val factoryMethod = MethodDescriptor.forMethod(field.name, field.type)
+  val factoryHandle =
+    Handle(H_INVOKESTATIC, factoryType.internalName, factoryMethod.name, factoryMethod.descriptor, false)
+  return ConstantDynamic(field.name, field.descriptor, INVOKE_HANDLE, factoryHandle)
+}
+
 private fun GeneratorAdapter.push(type: GenericType) {
   when (type) {
     is GenericType.Raw -> push(type.type.boxed())
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2020 Michael Rozumyanskiy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.michaelrocks.lightsaber.processor.generation
+
+import io.michaelrocks.grip.ClassRegistry
+import io.michaelrocks.grip.mirrors.Type
+import io.michaelrocks.grip.mirrors.isPublic
+import io.michaelrocks.grip.mirrors.packageName
+import io.michaelrocks.lightsaber.processor.commons.boxed
+import io.michaelrocks.lightsaber.processor.model.Dependency
+import io.michaelrocks.lightsaber.processor.model.InjectionContext
+import io.michaelrocks.lightsaber.processor.model.Provider
+import io.michaelrocks.lightsaber.processor.model.ProvisionPoint
+import io.michaelrocks.lightsaber.processor.model.Scope
+import java.util.HashMap
+
+/**
+ * Finds unscoped constructor providers whose instances can be created directly by other providers instead of being
+ * resolved via the injector. A constructor provider is inlinable into a provider of a module only if it's registered
+ * in every component that contains the module, so the injector would resolve the dependency to the same provider.
+ */
+class InlinableConstructorRegistry(
+  private val classRegistry: ClassRegistry,
+  private val injectionContext: InjectionContext
+) {
+
+  private val providersByModuleType = HashMap<Type.Object, Map<Dependency, Provider>>()
+
+  init {
+    injectionContext.components.forEach { component ->
+      val providers = component.getModulesWithDescendants()
+        .flatMap { it.providers.asSequence() }
+        .filter { isInlinable(it) }
+        .associateBy { it.dependency.boxed() }
+      component.getModulesWithDescendants().forEach { module ->
+        val moduleProviders = providersByModuleType[module.type]
+        providersByModuleType[module.type] =
+          if (moduleProviders == null) providers else moduleProviders.filter { providers[it.key] == it.value }
+      }
+    }
+  }
+
+  fun findInlinableProvider(consumer: Provider, dependency: Dependency): Provider? {
+    val provider = providersByModuleType[consumer.moduleType]?.get(dependency.boxed()) ?: return null
+    return provider.takeIf { isAccessible(consumer.type, it) }
+  }
+
+  private fun isInlinable(provider: Provider): Boolean {
+    // Only constructors of providable targets are taken into account since these classes are available and patched.
+    return provider.scope == Scope.None &&
+        provider.provisionPoint is ProvisionPoint.Constructor &&
+        injectionContext.findProvidableTargetByType(provider.provisionPoint.containerType) != null
+  }
+
+  private fun isAccessible(consumerType: Type.Object, provider: Provider): Boolean {
+    val provisionPoint = provider.provisionPoint as ProvisionPoint.Constructor
+    val containerType = provisionPoint.containerType
+    // Constructors of providable targets are never private after patching.
+    return consumerType.packageName == containerType.packageName ||
+        (classRegistry.getClassMirror(containerType).isPublic && provisionPoint.method.isPublic)
+  }
+}
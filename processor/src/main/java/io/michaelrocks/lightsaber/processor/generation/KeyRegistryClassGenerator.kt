@@ -33,6 +33,7 @@ import io.michaelrocks.lightsaber.processor.descriptors.MethodDescriptor
 import io.michaelrocks.lightsaber.processor.descriptors.descriptor
 import io.michaelrocks.lightsaber.processor.generation.model.GenerationContext
 import io.michaelrocks.lightsaber.processor.generation.model.Key
+import io.michaelrocks.lightsaber.processor.generation.model.KeyHolder
 import io.michaelrocks.lightsaber.processor.generation.model.PackageInvader
 import io.michaelrocks.lightsaber.processor.model.Dependency
 import io.michaelrocks.lightsaber.processor.watermark.WatermarkClassVisitor
@@ -42,7 +43,6 @@ import org.objectweb.asm.Opcodes.ACC_FINAL
 import org.objectweb.asm.Opcodes.ACC_PUBLIC
 import org.objectweb.asm.Opcodes.ACC_STATIC
 import org.objectweb.asm.Opcodes.ACC_SUPER
-import org.objectweb.asm.Opcodes.V1_6
 
 private val KEY_CONSTRUCTOR = MethodDescriptor.forConstructor(Types.TYPE_TYPE, Types.ANNOTATION_TYPE)
 
@@ -58,34 +58,42 @@ class KeyRegistryClassGenerator(
   private val classProducer: ClassProducer,
   private val classRegistry: ClassRegistry,
   private val annotationCreator: AnnotationCreator,
-  private val generationContext: GenerationContext
+  private val generationContext: GenerationContext,
+  private val taskRunner: GenerationTaskRunner
 ) {
 
   private val keyRegistry = generationContext.keyRegistry
 
   fun generate() {
+    keyRegistry.holders.forEach { keyHolder ->
+      taskRunner.submit { generateKeyHolder(keyHolder) }
+      keyHolder.factoryType?.let { taskRunner.submit { generateKeyFactory(keyHolder, it) } }
+    }
+  }
+
+  private fun generateKeyHolder(keyHolder: KeyHolder) {
     val classWriter = StandaloneClassWriter(ClassWriter.COMPUTE_FRAMES or ClassWriter.COMPUTE_MAXS, classRegistry)
     val classVisitor = WatermarkClassVisitor(classWriter, true)
     classVisitor.visit(
-      V1_6,
+      generationContext.classVersion,
       ACC_PUBLIC or ACC_SUPER,
-      keyRegistry.type.internalName,
+      keyHolder.type.internalName,
       null,
       Types.OBJECT_TYPE.internalName,
       null
     )
 
-    generateFields(classVisitor)
-    generateStaticInitializer(classVisitor)
+    generateFields(classVisitor, keyHolder)
+    generateStaticInitializer(classVisitor, keyHolder)
     classVisitor.newDefaultConstructor()
 
     classVisitor.visitEnd()
     val classBytes = classWriter.toByteArray()
-    classProducer.produceClass(keyRegistry.type.internalName, classBytes)
+    classProducer.produceClass(keyHolder.type.internalName, classBytes)
   }
 
-  private fun generateFields(classVisitor: ClassVisitor) {
-    for (key in keyRegistry.keys.values) {
+  private fun generateFields(classVisitor: ClassVisitor, keyHolder: KeyHolder) {
+    for (key in keyHolder.keys.values) {
       val field = key.field
       val fieldVisitor = classVisitor.visitField(
         ACC_PUBLIC or ACC_STATIC or ACC_FINAL,
@@ -98,20 +106,51 @@ class KeyRegistryClassGenerator(
     }
   }
 
-  private fun generateStaticInitializer(classVisitor: ClassVisitor) {
+  private fun generateStaticInitializer(classVisitor: ClassVisitor, keyHolder: KeyHolder) {
     val staticInitializer = MethodDescriptor.forStaticInitializer()
     val generator = GeneratorAdapter(classVisitor, ACC_STATIC, staticInitializer)
     generator.visitCode()
 
-    for ((dependency, key) in keyRegistry.keys.entries) {
+    for ((dependency, key) in keyHolder.keys.entries) {
       generator.pushInstanceOfKey(dependency, key)
-      generator.putStatic(keyRegistry.type, key.field)
+      generator.putStatic(keyHolder.type, key.field)
     }
 
     generator.returnValue()
     generator.endMethod()
   }
 
+  private fun generateKeyFactory(keyHolder: KeyHolder, factoryType: Type.Object) {
+    val classWriter = StandaloneClassWriter(ClassWriter.COMPUTE_FRAMES or ClassWriter.COMPUTE_MAXS, classRegistry)
+    val classVisitor = WatermarkClassVisitor(classWriter, true)
+    classVisitor.visit(
+      generationContext.classVersion,
+      ACC_PUBLIC or ACC_SUPER,
+      factoryType.internalName,
+      null,
+      Types.OBJECT_TYPE.internalName,
+      null
+    )
+
+    generateFactoryMethods(classVisitor, keyHolder)
+    classVisitor.newDefaultConstructor()
+
+    classVisitor.visitEnd()
+    val classBytes = classWriter.toByteArray()
+    classProducer.produceClass(factoryType.internalName, classBytes)
+  }
+
+  private fun generateFactoryMethods(classVisitor: ClassVisitor, keyHolder: KeyHolder) {
+    for ((dependency, key) in keyHolder.keys.entries) {
+      val method = MethodDescriptor.forMethod(key.field.name, key.field.type)
+      val generator = GeneratorAdapter(classVisitor, ACC_PUBLIC or ACC_STATIC, method)
+      generator.visitCode()
+      generator.pushInstanceOfKey(dependency, key)
+      generator.returnValue()
+      generator.endMethod()
+    }
+  }
+
   private fun GeneratorAdapter.pushInstanceOfKey(dependency: Dependency, key: Key) {
     when (key) {
       is Key.QualifiedType -> newKey(dependency)
@@ -166,10 +205,10 @@ class KeyRegistryClassGenerator(
 
   private fun GeneratorAdapter.pushType(rawType: Type) {
     val packageInvader = findPackageInvaderForType(rawType)
-    val field = packageInvader?.fields?.get(rawType)
+    val method = packageInvader?.methods?.get(rawType)
 
-    if (field != null) {
-      getStatic(packageInvader.type, field)
+    if (method != null) {
+      invokeStatic(packageInvader.type, method)
     } else {
       push(rawType.boxed())
     }
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2020 Michael Rozumyanskiy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.michaelrocks.lightsaber.processor.generation
+
+import io.michaelrocks.grip.ClassRegistry
+import io.michaelrocks.grip.mirrors.Type
+import io.michaelrocks.lightsaber.LightsaberTypes
+import io.michaelrocks.lightsaber.processor.commons.Types
+import io.michaelrocks.lightsaber.processor.model.InjectionContext
+import java.util.concurrent.ConcurrentHashMap
+
+/**
+ * Determines whether instances of a type can implement [io.michaelrocks.lightsaber.internal.MembersInjector] after
+ * processing. Constructor providers of other types skip members injection since it would be a no-op.
+ */
+class MembersInjectorRegistry(
+  private val classRegistry: ClassRegistry,
+  private val injectionContext: InjectionContext
+) {
+
+  private val factoryImplementationTypes = injectionContext.factories.mapTo(HashSet()) { it.implementationType }
+  private val accessorImplementationTypes = injectionContext.accessorInterfaces.mapTo(HashSet()) { it.implementationType }
+  private val membersInjectorsByType = ConcurrentHashMap<Type.Object, Boolean>()
+
+  fun hasMembersInjector(type: Type.Object): Boolean {
+    return membersInjectorsByType.getOrPut(type) { computeHasMembersInjector(type) }
+  }
+
+  private fun computeHasMembersInjector(type: Type.Object): Boolean {
+    if (type == Types.OBJECT_TYPE || type in factoryImplementationTypes || type in accessorImplementationTypes) {
+      return false
+    }
+
+    if (injectionContext.findInjectableTargetByType(type) != null) {
+      return true
+    }
+
+    // Classes from the classpath may have been processed already.
+    val mirror = classRegistry.getClassMirror(type)
+    if (LightsaberTypes.MEMBERS_INJECTOR_TYPE in mirror.interfaces) {
+      return true
+    }
+
+    val superType = mirror.superType ?: return false
+    return hasMembersInjector(superType)
+  }
+}
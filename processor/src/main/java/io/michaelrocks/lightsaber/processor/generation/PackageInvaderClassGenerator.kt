@@ -17,33 +17,36 @@
 package io.michaelrocks.lightsaber.processor.generation
 
 import io.michaelrocks.grip.ClassRegistry
-import io.michaelrocks.lightsaber.processor.commons.GeneratorAdapter
 import io.michaelrocks.lightsaber.processor.commons.StandaloneClassWriter
 import io.michaelrocks.lightsaber.processor.commons.Types
 import io.michaelrocks.lightsaber.processor.commons.boxed
 import io.michaelrocks.lightsaber.processor.commons.newDefaultConstructor
-import io.michaelrocks.lightsaber.processor.descriptors.MethodDescriptor
-import io.michaelrocks.lightsaber.processor.descriptors.descriptor
+import io.michaelrocks.lightsaber.processor.commons.newMethod
 import io.michaelrocks.lightsaber.processor.generation.model.PackageInvader
 import io.michaelrocks.lightsaber.processor.watermark.WatermarkClassVisitor
 import org.objectweb.asm.ClassVisitor
 import org.objectweb.asm.ClassWriter
-import org.objectweb.asm.Opcodes.ACC_FINAL
 import org.objectweb.asm.Opcodes.ACC_PUBLIC
 import org.objectweb.asm.Opcodes.ACC_STATIC
 import org.objectweb.asm.Opcodes.ACC_SUPER
 import org.objectweb.asm.Opcodes.V1_6
 
+/**
+ * Generates a package invader that returns classes of non-public types of its package. Every class is returned by a
+ * method of its own that loads it with ldc, so a class is loaded only when its method is called for the first time
+ * rather than when the package invader is initialized.
+ */
 class PackageInvaderClassGenerator(
   private val classRegistry: ClassRegistry,
-  private val packageInvader: PackageInvader
+  private val packageInvader: PackageInvader,
+  private val classVersion: Int = V1_6
 ) {
 
   fun generate(): ByteArray {
     val classWriter = StandaloneClassWriter(ClassWriter.COMPUTE_FRAMES or ClassWriter.COMPUTE_MAXS, classRegistry)
     val classVisitor = WatermarkClassVisitor(classWriter, true)
     classVisitor.visit(
-      V1_6,
+      classVersion,
       ACC_PUBLIC or ACC_SUPER,
       packageInvader.type.internalName,
       null,
@@ -51,38 +54,18 @@ class PackageInvaderClassGenerator(
       null
     )
 
-    generateFields(classVisitor)
-    generateStaticInitializer(classVisitor)
+    generateMethods(classVisitor)
     classVisitor.newDefaultConstructor()
 
     classVisitor.visitEnd()
     return classWriter.toByteArray()
   }
 
-  private fun generateFields(classVisitor: ClassVisitor) {
-    for (field in packageInvader.fields.values) {
-      val fieldVisitor = classVisitor.visitField(
-        ACC_PUBLIC or ACC_STATIC or ACC_FINAL,
-        field.name,
-        field.descriptor,
-        null,
-        null
-      )
-      fieldVisitor.visitEnd()
-    }
-  }
-
-  private fun generateStaticInitializer(classVisitor: ClassVisitor) {
-    val staticInitializer = MethodDescriptor.forStaticInitializer()
-    val generator = GeneratorAdapter(classVisitor, ACC_STATIC, staticInitializer)
-    generator.visitCode()
-
-    for ((type, field) in packageInvader.fields.entries) {
-      generator.push(type.boxed())
-      generator.putStatic(packageInvader.type, field)
+  private fun generateMethods(classVisitor: ClassVisitor) {
+    for ((type, method) in packageInvader.methods) {
+      classVisitor.newMethod(ACC_PUBLIC or ACC_STATIC, method) {
+        push(type.boxed())
+      }
     }
-
-    generator.returnValue()
-    generator.endMethod()
   }
 }
@@ -22,17 +22,20 @@ import io.michaelrocks.lightsaber.processor.logging.getLogger
 
 class PackageInvadersGenerator(
   private val classProducer: ClassProducer,
-  private val classRegistry: ClassRegistry
+  private val classRegistry: ClassRegistry,
+  private val taskRunner: GenerationTaskRunner
 ) {
 
   private val logger = getLogger()
 
   fun generate(generationContext: GenerationContext) {
     generationContext.packageInvaders.forEach { packageInvader ->
-      logger.debug("Generating package invader {}", packageInvader.type)
-      val generator = PackageInvaderClassGenerator(classRegistry, packageInvader)
-      val classData = generator.generate()
-      classProducer.produceClass(packageInvader.type.internalName, classData)
+      taskRunner.submit {
+        logger.debug("Generating package invader {}", packageInvader.type)
+        val generator = PackageInvaderClassGenerator(classRegistry, packageInvader, generationContext.classVersion)
+        val classData = generator.generate()
+        classProducer.produceClass(packageInvader.type.internalName, classData)
+      }
     }
   }
 }
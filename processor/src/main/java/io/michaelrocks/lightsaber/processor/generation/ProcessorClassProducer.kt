@@ -22,6 +22,7 @@ import io.michaelrocks.lightsaber.processor.io.FileSink
 import io.michaelrocks.lightsaber.processor.logging.getLogger
 import java.io.IOException
 
+// Classes may be produced concurrently if the file sink supports concurrent writes.
 class ProcessorClassProducer(
   private val fileSink: FileSink,
   private val errorReporter: ErrorReporter
@@ -18,8 +18,8 @@ package io.michaelrocks.lightsaber.processor.generation
 
 import io.michaelrocks.grip.ClassRegistry
 import io.michaelrocks.grip.mirrors.Type
-import io.michaelrocks.grip.mirrors.getObjectType
 import io.michaelrocks.grip.mirrors.isPrimitive
+import io.michaelrocks.lightsaber.LightsaberTypes
 import io.michaelrocks.lightsaber.processor.commons.GeneratorAdapter
 import io.michaelrocks.lightsaber.processor.commons.StandaloneClassWriter
 import io.michaelrocks.lightsaber.processor.commons.Types
@@ -30,11 +30,15 @@ import io.michaelrocks.lightsaber.processor.commons.toFieldDescriptor
 import io.michaelrocks.lightsaber.processor.commons.toMethodDescriptor
 import io.michaelrocks.lightsaber.processor.descriptors.FieldDescriptor
 import io.michaelrocks.lightsaber.processor.descriptors.MethodDescriptor
+import io.michaelrocks.lightsaber.processor.descriptors.descriptor
 import io.michaelrocks.lightsaber.processor.generation.model.KeyRegistry
+import io.michaelrocks.lightsaber.processor.generation.model.NestRegistry
+import io.michaelrocks.lightsaber.processor.model.Converter
 import io.michaelrocks.lightsaber.processor.model.Injectee
 import io.michaelrocks.lightsaber.processor.model.Provider
 import io.michaelrocks.lightsaber.processor.model.ProvisionPoint
 import io.michaelrocks.lightsaber.processor.model.isConstructorProvider
+import io.michaelrocks.lightsaber.processor.model.isSingleton
 import io.michaelrocks.lightsaber.processor.watermark.WatermarkClassVisitor
 import org.objectweb.asm.ClassVisitor
 import org.objectweb.asm.ClassWriter
@@ -42,27 +46,55 @@ import org.objectweb.asm.Opcodes.ACC_FINAL
 import org.objectweb.asm.Opcodes.ACC_PRIVATE
 import org.objectweb.asm.Opcodes.ACC_PUBLIC
 import org.objectweb.asm.Opcodes.ACC_SUPER
+import org.objectweb.asm.Opcodes.ACC_SYNTHETIC
 import org.objectweb.asm.Opcodes.V1_6
+import org.objectweb.asm.commons.GeneratorAdapter.EQ
 
 class ProviderClassGenerator(
   private val classRegistry: ClassRegistry,
   private val keyRegistry: KeyRegistry,
-  private val provider: Provider
+  private val provider: Provider,
+  private val classVersion: Int = V1_6,
+  private val nestRegistry: NestRegistry? = null,
+  private val inlinableConstructorRegistry: InlinableConstructorRegistry? = null,
+  private val membersInjectorRegistry: MembersInjectorRegistry? = null
 ) {
 
   companion object {
     private const val MODULE_FIELD_NAME = "module"
 
-    private val NULL_POINTER_EXCEPTION_TYPE = getObjectType<NullPointerException>()
-
     private val INJECTOR_FIELD = FieldDescriptor("injector", Types.INJECTOR_TYPE)
+    private val SINGLETON_STORAGE_FIELD = FieldDescriptor("singletonStorage", LightsaberTypes.SINGLETON_STORAGE_TYPE)
+    private val SINGLETON_SLOT_FIELD = FieldDescriptor("singletonSlot", Type.Primitive.Int)
 
     private val GET_METHOD =
       MethodDescriptor.forMethod("get", Types.OBJECT_TYPE)
+    private val CREATE_SINGLETON_METHOD =
+      MethodDescriptor.forMethod("createSingleton", Types.OBJECT_TYPE)
+    private val CHECK_PROVIDED_INSTANCE_METHOD =
+      MethodDescriptor.forMethod("checkProvidedInstance", Types.OBJECT_TYPE, Types.OBJECT_TYPE)
     private val INJECT_MEMBERS_METHOD =
       MethodDescriptor.forMethod("injectMembers", Type.Primitive.Void, Types.OBJECT_TYPE)
+    private val IS_DEPENDENCY_INLINING_ENABLED_METHOD =
+      MethodDescriptor.forMethod("isDependencyInliningEnabled", Type.Primitive.Boolean)
+    private val GET_SINGLETON_STORAGE_METHOD =
+      MethodDescriptor.forMethod("getSingletonStorage", LightsaberTypes.SINGLETON_STORAGE_TYPE)
+    private val ALLOCATE_SLOT_METHOD =
+      MethodDescriptor.forMethod("allocateSlot", Type.Primitive.Int)
+    private val GET_SLOT_METHOD =
+      MethodDescriptor.forMethod("get", Types.OBJECT_TYPE, Type.Primitive.Int)
+    private val SET_SLOT_METHOD =
+      MethodDescriptor.forMethod("set", Type.Primitive.Void, Type.Primitive.Int, Types.OBJECT_TYPE)
+
+    // Limits the number of constructors inlined into a single get() method to keep it small.
+    private const val MAX_INLINED_CONSTRUCTORS = 16
   }
 
+  // A provider is a nest member of its module when the module has been patched to grant it access to the private
+  // provision point. In this case the provision point is accessed directly instead of through a bridge method.
+  private val isNestMember: Boolean =
+    provider.provisionPoint.bridge != null && nestRegistry?.isNestHost(provider.moduleType) == true
+
   private val providerConstructor: MethodDescriptor
     get() {
       if (provider.provisionPoint is ProvisionPoint.Constructor) {
@@ -76,7 +108,7 @@ class ProviderClassGenerator(
     val classWriter = StandaloneClassWriter(ClassWriter.COMPUTE_FRAMES or ClassWriter.COMPUTE_MAXS, classRegistry)
     val classVisitor = WatermarkClassVisitor(classWriter, true)
     classVisitor.visit(
-      V1_6,
+      classVersion,
       ACC_PUBLIC or ACC_SUPER,
       provider.type.internalName,
       null,
@@ -84,37 +116,37 @@ class ProviderClassGenerator(
       arrayOf(Types.PROVIDER_TYPE.internalName)
     )
 
+    if (isNestMember) {
+      classVisitor.visitNestHost(provider.moduleType.internalName)
+    }
+
     generateFields(classVisitor)
     generateConstructor(classVisitor)
     generateGetMethod(classVisitor)
+    if (provider.isSingleton) {
+      generateCreateSingletonMethod(classVisitor)
+    }
 
     classVisitor.visitEnd()
     return classWriter.toByteArray()
   }
 
   private fun generateFields(classVisitor: ClassVisitor) {
-    generateInjectorField(classVisitor)
+    generateField(classVisitor, INJECTOR_FIELD)
     if (!provider.isConstructorProvider) {
-      generateModuleField(classVisitor)
+      generateField(classVisitor, FieldDescriptor(MODULE_FIELD_NAME, provider.moduleType))
+    }
+    if (provider.isSingleton) {
+      generateField(classVisitor, SINGLETON_STORAGE_FIELD)
+      generateField(classVisitor, SINGLETON_SLOT_FIELD)
     }
   }
 
-  private fun generateModuleField(classVisitor: ClassVisitor) {
-    val fieldVisitor = classVisitor.visitField(
-      ACC_PRIVATE or ACC_FINAL,
-      MODULE_FIELD_NAME,
-      provider.moduleType.descriptor,
-      null,
-      null
-    )
-    fieldVisitor.visitEnd()
-  }
-
-  private fun generateInjectorField(classVisitor: ClassVisitor) {
+  private fun generateField(classVisitor: ClassVisitor, field: FieldDescriptor) {
     val fieldVisitor = classVisitor.visitField(
       ACC_PRIVATE or ACC_FINAL,
-      INJECTOR_FIELD.name,
-      INJECTOR_FIELD.type.descriptor,
+      field.name,
+      field.descriptor,
       null,
       null
     )
@@ -140,30 +172,157 @@ class ProviderClassGenerator(
         loadArg(0)
         putField(provider.type, MODULE_FIELD_NAME, provider.moduleType)
       }
+
+      if (provider.isSingleton) {
+        loadThis()
+        loadArg(if (provider.isConstructorProvider) 0 else 1)
+        checkCast(LightsaberTypes.LIGHTSABER_INJECTOR_TYPE)
+        invokeVirtual(LightsaberTypes.LIGHTSABER_INJECTOR_TYPE, GET_SINGLETON_STORAGE_METHOD)
+        putField(provider.type, SINGLETON_STORAGE_FIELD)
+
+        loadThis()
+        loadThis()
+        getField(provider.type, SINGLETON_STORAGE_FIELD)
+        invokeVirtual(LightsaberTypes.SINGLETON_STORAGE_TYPE, ALLOCATE_SLOT_METHOD)
+        putField(provider.type, SINGLETON_SLOT_FIELD)
+      }
     }
   }
 
   private fun generateGetMethod(classVisitor: ClassVisitor) {
     classVisitor.newMethod(ACC_PUBLIC, GET_METHOD) {
-      val bridge = provider.provisionPoint.bridge
-      if (bridge != null) {
-        provideFromMethod(bridge)
+      if (provider.isSingleton) {
+        provideSingleton()
       } else {
-        val provisionPoint = provider.provisionPoint
-        exhaustive(
-          when (provisionPoint) {
-            is ProvisionPoint.Field -> provideFromField(provisionPoint)
-            is ProvisionPoint.Constructor -> provideFromConstructor(provisionPoint)
-            is ProvisionPoint.Method -> provideFromMethod(provisionPoint)
-            is ProvisionPoint.Binding -> provideFromBinding(provisionPoint)
-          }
-        )
+        provide()
       }
+    }
+  }
+
+  private fun GeneratorAdapter.provideSingleton() {
+    // Only the fast path stays in get() so it's small enough to be inlined into its callers by JIT.
+    val returnLabel = newLabel()
+    loadSingleton()
+    dup()
+    ifNonNull(returnLabel)
+    pop()
+    loadThis()
+    invokePrivate(provider.type, CREATE_SINGLETON_METHOD)
+    visitLabel(returnLabel)
+  }
 
-      valueOf(provider.dependency.type.rawType)
+  private fun generateCreateSingletonMethod(classVisitor: ClassVisitor) {
+    classVisitor.newMethod(ACC_PRIVATE or ACC_SYNTHETIC, CREATE_SINGLETON_METHOD) {
+      createSingleton()
     }
   }
 
+  private fun GeneratorAdapter.createSingleton() {
+    val instance = newLocal(Types.OBJECT_TYPE)
+    val returnLabel = newLabel()
+    val tryStartLabel = newLabel()
+    val tryEndLabel = newLabel()
+    val handlerLabel = newLabel()
+    val unlockLabel = newLabel()
+
+    // Each singleton is created under the monitor of its own provider, so creating one singleton doesn't block creation
+    // of other singletons of the same injector.
+    loadThis()
+    monitorEnter()
+    visitTryCatchBlock(tryStartLabel, tryEndLabel, handlerLabel, null)
+    visitLabel(tryStartLabel)
+    loadSingleton()
+    storeLocal(instance)
+    loadLocal(instance)
+    ifNonNull(unlockLabel)
+
+    provide()
+    storeLocal(instance)
+    loadSingletonStorage()
+    loadThis()
+    getField(provider.type, SINGLETON_SLOT_FIELD)
+    loadLocal(instance)
+    invokeVirtual(LightsaberTypes.SINGLETON_STORAGE_TYPE, SET_SLOT_METHOD)
+
+    visitLabel(unlockLabel)
+    loadThis()
+    monitorExit()
+    visitLabel(tryEndLabel)
+    goTo(returnLabel)
+
+    visitLabel(handlerLabel)
+    loadThis()
+    monitorExit()
+    throwException()
+
+    visitLabel(returnLabel)
+    loadLocal(instance)
+  }
+
+  private fun GeneratorAdapter.loadSingletonStorage() {
+    loadThis()
+    getField(provider.type, SINGLETON_STORAGE_FIELD)
+  }
+
+  private fun GeneratorAdapter.loadSingleton() {
+    loadSingletonStorage()
+    loadThis()
+    getField(provider.type, SINGLETON_SLOT_FIELD)
+    invokeVirtual(LightsaberTypes.SINGLETON_STORAGE_TYPE, GET_SLOT_METHOD)
+  }
+
+  private fun GeneratorAdapter.provide() {
+    // Unscoped dependencies are created directly unless provider interceptors or overrides may replace them.
+    if (hasInlinableArguments()) {
+      val notInlinedLabel = newLabel()
+      val providedLabel = newLabel()
+      loadThis()
+      getField(provider.type, INJECTOR_FIELD)
+      checkCast(LightsaberTypes.LIGHTSABER_INJECTOR_TYPE)
+      invokeVirtual(LightsaberTypes.LIGHTSABER_INJECTOR_TYPE, IS_DEPENDENCY_INLINING_ENABLED_METHOD)
+      ifZCmp(EQ, notInlinedLabel)
+      provide(InliningBudget())
+      goTo(providedLabel)
+      visitLabel(notInlinedLabel)
+      provide(null)
+      visitLabel(providedLabel)
+    } else {
+      provide(null)
+    }
+  }
+
+  private fun GeneratorAdapter.provide(budget: InliningBudget?) {
+    val bridge = provider.provisionPoint.bridge
+    if (bridge != null && !isNestMember) {
+      provideFromMethod(bridge, budget)
+    } else {
+      val provisionPoint = provider.provisionPoint
+      exhaustive(
+        when (provisionPoint) {
+          is ProvisionPoint.Field -> provideFromField(provisionPoint)
+          is ProvisionPoint.Constructor -> provideFromConstructor(provisionPoint, budget)
+          is ProvisionPoint.Method -> provideFromMethod(provisionPoint, budget)
+          is ProvisionPoint.Binding -> provideFromBinding(provisionPoint)
+        }
+      )
+    }
+
+    valueOf(provider.dependency.type.rawType)
+  }
+
+  private fun hasInlinableArguments(): Boolean {
+    val provisionPoint = provider.provisionPoint as? ProvisionPoint.AbstractMethod ?: return false
+    return provisionPoint.injectionPoint.injectees.any { findInlinableProvider(it) != null }
+  }
+
+  private fun findInlinableProvider(injectee: Injectee): Provider? {
+    if (injectee.converter !is Converter.Instance) {
+      return null
+    }
+
+    return inlinableConstructorRegistry?.findInlinableProvider(provider, injectee.dependency)
+  }
+
   private fun GeneratorAdapter.provideFromField(provisionPoint: ProvisionPoint.Field) {
     loadThis()
     getField(provider.type, MODULE_FIELD_NAME, provider.moduleType)
@@ -171,43 +330,51 @@ class ProviderClassGenerator(
     getField(provider.moduleType, field)
   }
 
-  private fun GeneratorAdapter.provideFromConstructor(provisionPoint: ProvisionPoint.Constructor) {
-    invokeConstructor(provisionPoint)
-    injectMembers()
+  private fun GeneratorAdapter.provideFromConstructor(provisionPoint: ProvisionPoint.Constructor, budget: InliningBudget?) {
+    invokeConstructor(provisionPoint, budget)
+    if (membersInjectorRegistry?.hasMembersInjector(provisionPoint.containerType) != false) {
+      injectMembers()
+    }
   }
 
-  private fun GeneratorAdapter.invokeConstructor(provisionPoint: ProvisionPoint.Constructor) {
+  private fun GeneratorAdapter.invokeConstructor(provisionPoint: ProvisionPoint.Constructor, budget: InliningBudget?) {
     newInstance(provisionPoint.containerType)
     dup()
-    loadArguments(provisionPoint)
+    loadArguments(provisionPoint, budget)
     val method = provisionPoint.method.toMethodDescriptor()
     invokeConstructor(provisionPoint.containerType, method)
   }
 
-  private fun GeneratorAdapter.provideFromMethod(provisionPoint: ProvisionPoint.Method) {
+  private fun GeneratorAdapter.provideFromMethod(provisionPoint: ProvisionPoint.Method, budget: InliningBudget?) {
     loadThis()
     getField(provider.type, MODULE_FIELD_NAME, provider.moduleType)
-    loadArguments(provisionPoint)
+    loadArguments(provisionPoint, budget)
     invokeVirtual(provider.moduleType, provisionPoint.method.toMethodDescriptor())
 
     if (provider.dependency.type.rawType.isPrimitive) {
       return
     }
 
-    val resultIsNullLabel = newLabel()
-    dup()
-    ifNonNull(resultIsNullLabel)
-    throwException(NULL_POINTER_EXCEPTION_TYPE, "Provider method returned null")
-
-    visitLabel(resultIsNullLabel)
+    invokeStatic(LightsaberTypes.PROVIDER_UTILS_TYPE, CHECK_PROVIDED_INSTANCE_METHOD)
   }
 
-  private fun GeneratorAdapter.loadArguments(provisionPoint: ProvisionPoint.AbstractMethod) {
+  private fun GeneratorAdapter.loadArguments(provisionPoint: ProvisionPoint.AbstractMethod, budget: InliningBudget?) {
     val injectees = provisionPoint.injectionPoint.injectees
-    injectees.forEach { loadArgument(it) }
+    injectees.forEach { loadArgument(it, budget) }
   }
 
-  private fun GeneratorAdapter.loadArgument(injectee: Injectee) {
+  private fun GeneratorAdapter.loadArgument(injectee: Injectee, budget: InliningBudget?) {
+    if (budget != null && budget.remaining > 0) {
+      val inlinableProvider = findInlinableProvider(injectee)
+      if (inlinableProvider != null && inlinableProvider.type !in budget.providers) {
+        budget.remaining -= 1
+        budget.providers += inlinableProvider.type
+        provideFromConstructor(inlinableProvider.provisionPoint as ProvisionPoint.Constructor, budget)
+        budget.providers -= inlinableProvider.type
+        return
+      }
+    }
+
     loadThis()
     getField(provider.type, INJECTOR_FIELD)
     getDependency(keyRegistry, injectee)
@@ -227,4 +394,9 @@ class ProviderClassGenerator(
     getInstance(keyRegistry, provisionPoint.binding)
     checkCast(provisionPoint.dependency.type.rawType)
   }
+
+  private class InliningBudget(
+    var remaining: Int = MAX_INLINED_CONSTRUCTORS,
+    val providers: MutableSet<Type.Object> = HashSet()
+  )
 }
@@ -23,20 +23,33 @@ import io.michaelrocks.lightsaber.processor.model.InjectionContext
 
 class ProvidersGenerator(
   private val classProducer: ClassProducer,
-  private val classRegistry: ClassRegistry
+  private val classRegistry: ClassRegistry,
+  private val taskRunner: GenerationTaskRunner
 ) {
 
   private val logger = getLogger()
 
   fun generate(injectionContext: InjectionContext, generationContext: GenerationContext) {
+    val inlinableConstructorRegistry = InlinableConstructorRegistry(classRegistry, injectionContext)
+    val membersInjectorRegistry = MembersInjectorRegistry(classRegistry, injectionContext)
     injectionContext.components.asSequence()
       .flatMap { it.getModulesWithDescendants() }
       .flatMap { it.providers.asSequence() }
       .forEach { provider ->
-        logger.debug("Generating provider {}", provider.type.internalName)
-        val generator = ProviderClassGenerator(classRegistry, generationContext.keyRegistry, provider)
-        val providerClassData = generator.generate()
-        classProducer.produceClass(provider.type.internalName, providerClassData)
+        taskRunner.submit {
+          logger.debug("Generating provider {}", provider.type.internalName)
+          val generator = ProviderClassGenerator(
+            classRegistry,
+            generationContext.keyRegistry,
+            provider,
+            generationContext.classVersion,
+            generationContext.nestRegistry,
+            inlinableConstructorRegistry,
+            membersInjectorRegistry
+          )
+          val providerClassData = generator.generate()
+          classProducer.produceClass(provider.type.internalName, providerClassData)
+        }
       }
   }
 }
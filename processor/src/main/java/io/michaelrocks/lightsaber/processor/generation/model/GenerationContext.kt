@@ -18,11 +18,14 @@ package io.michaelrocks.lightsaber.processor.generation.model
 
 import io.michaelrocks.grip.mirrors.Type
 import io.michaelrocks.grip.mirrors.packageName
+import org.objectweb.asm.Opcodes
 import java.util.HashMap
 
 data class GenerationContext(
   val packageInvaders: Collection<PackageInvader>,
-  val keyRegistry: KeyRegistry
+  val keyRegistry: KeyRegistry,
+  val classVersion: Int = Opcodes.V1_6,
+  val nestRegistry: NestRegistry? = null
 ) {
 
   private val packageInvadersByPackageName = HashMap<String, PackageInvader>()
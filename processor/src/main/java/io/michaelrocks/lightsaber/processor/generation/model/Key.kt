@@ -19,8 +19,19 @@ package io.michaelrocks.lightsaber.processor.generation.model
 import io.michaelrocks.lightsaber.processor.descriptors.FieldDescriptor
 
 sealed class Key {
+  abstract val holderType: io.michaelrocks.grip.mirrors.Type.Object
   abstract val field: FieldDescriptor
+  abstract val factoryType: io.michaelrocks.grip.mirrors.Type.Object?
 
-  data class Type(override val field: FieldDescriptor) : Key()
-  data class QualifiedType(override val field: FieldDescriptor) : Key()
+  data class Type(
+    override val holderType: io.michaelrocks.grip.mirrors.Type.Object,
+    override val field: FieldDescriptor,
+    override val factoryType: io.michaelrocks.grip.mirrors.Type.Object? = null
+  ) : Key()
+
+  data class QualifiedType(
+    override val holderType: io.michaelrocks.grip.mirrors.Type.Object,
+    override val field: FieldDescriptor,
+    override val factoryType: io.michaelrocks.grip.mirrors.Type.Object? = null
+  ) : Key()
 }
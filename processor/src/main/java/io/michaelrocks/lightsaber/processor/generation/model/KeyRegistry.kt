@@ -20,6 +20,20 @@ import io.michaelrocks.grip.mirrors.Type
 import io.michaelrocks.lightsaber.processor.model.Dependency
 
 data class KeyRegistry(
+  val holders: Collection<KeyHolder>,
+  val isConstantDynamicEnabled: Boolean = false
+) {
+
+  val keys: Map<Dependency, Key> = holders.flatMap { it.keys.toList() }.toMap()
+
+  // Shared by all classes that cannot load dynamic constants, so the keys map is built once rather than per class.
+  val withoutConstantDynamic: KeyRegistry by lazy {
+    if (isConstantDynamicEnabled) copy(isConstantDynamicEnabled = false) else this
+  }
+}
+
+data class KeyHolder(
   val type: Type.Object,
-  val keys: Map<Dependency, Key>
+  val keys: Map<Dependency, Key>,
+  val factoryType: Type.Object? = null
 )
@@ -0,0 +1,40 @@
+/*
+ * Copyright 2020 Michael Rozumyanskiy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.michaelrocks.lightsaber.processor.generation.model
+
+import io.michaelrocks.grip.mirrors.Type
+import java.util.Collections
+import java.util.concurrent.ConcurrentHashMap
+
+/**
+ * Records modules that became nest hosts of their providers.
+ *
+ * The registry is filled by module patchers and read by the provider generator, so every class must be patched before
+ * any provider is generated. Otherwise a provider could call a bridge method that the module patcher never generated.
+ */
+class NestRegistry {
+  // Nest hosts are added by module patchers that may run concurrently.
+  private val nestHosts = Collections.newSetFromMap(ConcurrentHashMap<Type.Object, Boolean>())
+
+  fun addNestHost(type: Type.Object) {
+    nestHosts += type
+  }
+
+  fun isNestHost(type: Type.Object): Boolean {
+    return type in nestHosts
+  }
+}
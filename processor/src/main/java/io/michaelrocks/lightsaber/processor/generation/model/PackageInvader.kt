@@ -17,10 +17,10 @@
 package io.michaelrocks.lightsaber.processor.generation.model
 
 import io.michaelrocks.grip.mirrors.Type
-import io.michaelrocks.lightsaber.processor.descriptors.FieldDescriptor
+import io.michaelrocks.lightsaber.processor.descriptors.MethodDescriptor
 
 data class PackageInvader(
   val type: Type.Object,
   val packageName: String,
-  val fields: Map<Type, FieldDescriptor>
+  val methods: Map<Type, MethodDescriptor>
 )
@@ -17,77 +17,74 @@
 package io.michaelrocks.lightsaber.processor.graph
 
 import java.util.ArrayList
-import java.util.HashMap
-import java.util.HashSet
 
+/**
+ * Finds a single representative cycle for every strongly connected component of the graph that contains a cycle. A
+ * cycle starts and ends with the same vertex and is the shortest cycle passing through its first vertex.
+ */
 fun <T> DirectedGraph<T>.findCycles(): Collection<List<T>> {
-  val cycles = HashSet<List<T>>()
-  val delegate = object : CycleSearcherTraversal.Delegate<T>() {
-    override fun onCycle(cycle: List<T>) {
-      cycles += cycle
+  val graph = IndexedDirectedGraph(this)
+  val stronglyConnectedComponents = StronglyConnectedComponents(graph)
+  val cycleSearcher = CycleSearcher(graph, stronglyConnectedComponents)
+  return stronglyConnectedComponents.components.indices
+    .filter { stronglyConnectedComponents.isCyclic(it) }
+    .map { componentIndex ->
+      val cycle = cycleSearcher.findCycle(stronglyConnectedComponents.components[componentIndex][0])
+      cycle.map { graph.getVertex(it) }
     }
-  }
-
-  val traversal = CycleSearcherTraversal<T>()
-  traversal.traverse(this, delegate)
-  return cycles
 }
 
-class CycleSearcherTraversal<T> : AbstractTraversal<T, CycleSearcherTraversal.Delegate<T>>() {
-  override fun performTraversal(graph: DirectedGraph<T>, delegate: Delegate<T>, vertex: T) {
-    val color = delegate.getVertexColor(vertex)
-    if (color == VertexColor.BLACK) {
-      return
-    }
-
-    try {
-      delegate.pushVertexToPath(vertex)
-
-      if (color == VertexColor.GRAY) {
-        delegate.extractCycle(vertex)
-        return
+private class CycleSearcher(
+  private val graph: IndexedDirectedGraph<*>,
+  private val stronglyConnectedComponents: StronglyConnectedComponents
+) {
+
+  // Strongly connected components don't intersect, so these arrays are shared by all the searches and every vertex is
+  // visited at most once in total.
+  private val parents = IntArray(graph.size) { UNVISITED }
+  private val queue = IntArray(graph.size)
+
+  fun findCycle(start: Int): List<Int> {
+    val componentIndex = stronglyConnectedComponents.getComponentIndex(start)
+    var head = 0
+    var tail = 0
+    queue[tail++] = start
+    parents[start] = start
+
+    // A breadth-first search that doesn't leave the component always finds an edge back to the start vertex.
+    while (head < tail) {
+      val vertex = queue[head++]
+      for (edge in graph.getEdgeStart(vertex) until graph.getEdgeEnd(vertex)) {
+        val target = graph.getEdgeTarget(edge)
+        if (target == start) {
+          return buildCycle(start, vertex)
+        }
+
+        if (parents[target] == UNVISITED && stronglyConnectedComponents.getComponentIndex(target) == componentIndex) {
+          parents[target] = vertex
+          queue[tail++] = target
+        }
       }
-
-      delegate.setVertexColor(vertex, VertexColor.GRAY)
-      graph.getAdjacentVertices(vertex)?.forEach { performTraversal(graph, delegate, it) }
-      delegate.setVertexColor(vertex, VertexColor.BLACK)
-    } finally {
-      delegate.popVertexFromPath()
-    }
-  }
-
-  abstract class Delegate<T> : Traversal.Delegate<T> {
-    private val colors = HashMap<T, VertexColor>()
-    private val path = ArrayList<T>()
-
-    fun getVertexColor(vertex: T): VertexColor {
-      return colors[vertex] ?: VertexColor.WHITE
     }
 
-    fun setVertexColor(vertex: T, color: VertexColor) {
-      colors[vertex] = color
-    }
-
-    fun pushVertexToPath(vertex: T) {
-      path.add(vertex)
-    }
-
-    fun popVertexFromPath() {
-      path.removeAt(path.lastIndex)
-    }
+    error("Component of vertex $start doesn't contain a cycle")
+  }
 
-    fun extractCycle(vertex: T) {
-      val cycleStartIndex = path.indexOf(vertex)
-      val cycle = path.subList(cycleStartIndex, path.size).toList()
-      onCycle(cycle)
+  private fun buildCycle(start: Int, last: Int): List<Int> {
+    val cycle = ArrayList<Int>()
+    cycle += start
+    var vertex = last
+    while (vertex != start) {
+      cycle += vertex
+      vertex = parents[vertex]
     }
-
-    abstract fun onCycle(cycle: List<T>)
+    cycle += start
+    // The path has been collected from its end, so everything but the start vertex is in reverse order.
+    cycle.subList(1, cycle.size - 1).reverse()
+    return cycle
   }
 
-  enum class VertexColor {
-    WHITE,
-    GRAY,
-    BLACK
+  companion object {
+    private const val UNVISITED = -1
   }
 }
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2020 Michael Rozumyanskiy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.michaelrocks.lightsaber.processor.graph
+
+import java.util.ArrayList
+import java.util.HashMap
+
+/**
+ * An immutable copy of a directed graph where vertices are replaced with their indices and all adjacency lists are
+ * stored in a single array. The edges of a vertex `v` are stored at positions from `getEdgeStart(v)` inclusive to
+ * `getEdgeEnd(v)` exclusive.
+ */
+class IndexedDirectedGraph<T>(graph: DirectedGraph<T>) {
+  private val vertices = ArrayList<T>(graph.size)
+  private val indices = HashMap<T, Int>(graph.size)
+  private val offsets: IntArray
+  private val targets: IntArray
+
+  val size: Int
+    get() = vertices.size
+
+  init {
+    graph.vertices.forEach { getOrCreateIndex(it) }
+    val sourceCount = vertices.size
+
+    var edgeCount = 0
+    for (index in 0 until sourceCount) {
+      edgeCount += graph.getAdjacentVertices(vertices[index])?.size ?: 0
+    }
+
+    val edgeTargets = IntArray(edgeCount)
+    val edgeOffsets = IntArray(sourceCount + 1)
+    var edgeIndex = 0
+    for (index in 0 until sourceCount) {
+      edgeOffsets[index] = edgeIndex
+      graph.getAdjacentVertices(vertices[index])?.forEach { edgeTargets[edgeIndex++] = getOrCreateIndex(it) }
+    }
+    edgeOffsets[sourceCount] = edgeIndex
+
+    // Vertices that are only referenced by edges don't have adjacent vertices.
+    offsets = if (vertices.size == sourceCount) edgeOffsets else edgeOffsets.copyOf(vertices.size + 1)
+    offsets.fill(edgeIndex, sourceCount + 1)
+    targets = edgeTargets
+  }
+
+  fun getVertex(index: Int): T {
+    return vertices[index]
+  }
+
+  fun getIndex(vertex: T): Int {
+    return indices[vertex] ?: -1
+  }
+
+  fun getEdgeStart(index: Int): Int {
+    return offsets[index]
+  }
+
+  fun getEdgeEnd(index: Int): Int {
+    return offsets[index + 1]
+  }
+
+  fun getEdgeTarget(edge: Int): Int {
+    return targets[edge]
+  }
+
+  private fun getOrCreateIndex(vertex: T): Int {
+    return indices.getOrPut(vertex) {
+      vertices.add(vertex)
+      vertices.lastIndex
+    }
+  }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2020 Michael Rozumyanskiy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.michaelrocks.lightsaber.processor.graph
+
+import java.util.ArrayList
+
+fun <T> DirectedGraph<T>.findStronglyConnectedComponents(): List<List<T>> {
+  val graph = IndexedDirectedGraph(this)
+  return StronglyConnectedComponents(graph).components.map { component -> component.map { graph.getVertex(it) } }
+}
+
+/**
+ * Finds strongly connected components of an indexed graph with an iterative version of Tarjan's algorithm, so it takes
+ * linear time and doesn't depend on the depth of the call stack. Components are listed in reverse topological order,
+ * i.e. a component never has edges to the components that follow it.
+ */
+class StronglyConnectedComponents(private val graph: IndexedDirectedGraph<*>) {
+  val components: List<IntArray>
+  private val componentIndices = IntArray(graph.size)
+
+  init {
+    components = TarjanSearch().search()
+  }
+
+  fun getComponentIndex(vertex: Int): Int {
+    return componentIndices[vertex]
+  }
+
+  fun isCyclic(componentIndex: Int): Boolean {
+    val component = components[componentIndex]
+    if (component.size > 1) {
+      return true
+    }
+
+    val vertex = component[0]
+    for (edge in graph.getEdgeStart(vertex) until graph.getEdgeEnd(vertex)) {
+      if (graph.getEdgeTarget(edge) == vertex) {
+        return true
+      }
+    }
+
+    return false
+  }
+
+  private inner class TarjanSearch {
+    private val size = graph.size
+    private val indices = IntArray(size) { UNVISITED }
+    private val lowLinks = IntArray(size)
+    private val isOnStack = BooleanArray(size)
+    private val stack = IntArray(size)
+    private var stackSize = 0
+    private val callVertices = IntArray(size)
+    private val callEdges = IntArray(size)
+    private var callDepth = 0
+    private var nextIndex = 0
+    private val components = ArrayList<IntArray>()
+
+    fun search(): List<IntArray> {
+      for (vertex in 0 until size) {
+        if (indices[vertex] == UNVISITED) {
+          searchFrom(vertex)
+        }
+      }
+
+      return components
+    }
+
+    private fun searchFrom(root: Int) {
+      enter(root)
+      while (callDepth > 0) {
+        val vertex = callVertices[callDepth - 1]
+        val edge = callEdges[callDepth - 1]
+        if (edge < graph.getEdgeEnd(vertex)) {
+          callEdges[callDepth - 1] = edge + 1
+          val target = graph.getEdgeTarget(edge)
+          if (indices[target] == UNVISITED) {
+            enter(target)
+          } else if (isOnStack[target]) {
+            lowLinks[vertex] = minOf(lowLinks[vertex], indices[target])
+          }
+        } else {
+          callDepth -= 1
+          if (callDepth > 0) {
+            val caller = callVertices[callDepth - 1]
+            lowLinks[caller] = minOf(lowLinks[caller], lowLinks[vertex])
+          }
+
+          if (lowLinks[vertex] == indices[vertex]) {
+            popComponent(vertex)
+          }
+        }
+      }
+    }
+
+    private fun enter(vertex: Int) {
+      indices[vertex] = nextIndex
+      lowLinks[vertex] = nextIndex
+      nextIndex += 1
+      stack[stackSize++] = vertex
+      isOnStack[vertex] = true
+      callVertices[callDepth] = vertex
+      callEdges[callDepth] = graph.getEdgeStart(vertex)
+      callDepth += 1
+    }
+
+    private fun popComponent(root: Int) {
+      var start = stackSize - 1
+      while (stack[start] != root) {
+        start -= 1
+      }
+
+      val component = stack.copyOfRange(start, stackSize)
+      val componentIndex = components.size
+      component.forEach { vertex ->
+        isOnStack[vertex] = false
+        componentIndices[vertex] = componentIndex
+      }
+
+      components += component
+      stackSize = start
+    }
+  }
+
+  companion object {
+    private const val UNVISITED = -1
+  }
+}
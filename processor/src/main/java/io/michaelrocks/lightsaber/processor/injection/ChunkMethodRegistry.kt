@@ -0,0 +1,42 @@
+/*
+ * Copyright 2020 Michael Rozumyanskiy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.michaelrocks.lightsaber.processor.injection
+
+import io.michaelrocks.grip.mirrors.Type
+import io.michaelrocks.lightsaber.processor.descriptors.MethodDescriptor
+
+/**
+ * Names private methods that registrations of a patched class are split into so that they never clash with methods
+ * the class already declares.
+ */
+class ChunkMethodRegistry {
+  private val reservedMethods = HashSet<MethodDescriptor>()
+  private var nextIndex = 0
+
+  fun reserveMethod(method: MethodDescriptor) {
+    reservedMethods += method
+  }
+
+  tailrec fun addChunkMethod(baseName: String, type: Type.Method): MethodDescriptor {
+    val method = MethodDescriptor("$baseName\$Lightsaber\$${nextIndex++}", type)
+    if (reservedMethods.add(method)) {
+      return method
+    }
+
+    return addChunkMethod(baseName, type)
+  }
+}
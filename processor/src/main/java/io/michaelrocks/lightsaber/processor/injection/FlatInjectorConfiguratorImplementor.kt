@@ -0,0 +1,136 @@
+/*
+ * Copyright 2020 Michael Rozumyanskiy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.michaelrocks.lightsaber.processor.injection
+
+import io.michaelrocks.grip.mirrors.Type
+import io.michaelrocks.grip.mirrors.getMethodType
+import io.michaelrocks.lightsaber.LightsaberTypes
+import io.michaelrocks.lightsaber.processor.commons.GeneratorAdapter
+import io.michaelrocks.lightsaber.processor.commons.newLocal
+import io.michaelrocks.lightsaber.processor.commons.newMethod
+import io.michaelrocks.lightsaber.processor.descriptors.MethodDescriptor
+import io.michaelrocks.lightsaber.processor.generation.model.KeyRegistry
+import io.michaelrocks.lightsaber.processor.model.Module
+import io.michaelrocks.lightsaber.processor.model.ModuleProvider
+import io.michaelrocks.lightsaber.processor.model.Provider
+import org.objectweb.asm.ClassVisitor
+import org.objectweb.asm.Opcodes.ACC_PRIVATE
+import org.objectweb.asm.Opcodes.ACC_PUBLIC
+import org.objectweb.asm.Opcodes.ACC_SYNTHETIC
+
+/**
+ * Implements [io.michaelrocks.lightsaber.internal.InjectorConfigurator] for a component so that providers of all
+ * imported modules are registered by the component itself instead of delegating to configurators of the modules.
+ * Modules that cannot be flattened are still configured via their own configurators. Registrations that don't fit
+ * into a single method are moved to private synthetic methods taking the injector and the module being configured.
+ */
+class FlatInjectorConfiguratorImplementor(
+  private val classVisitor: ClassVisitor,
+  private val keyRegistry: KeyRegistry,
+  private val flatteningChecker: ModuleFlatteningChecker,
+  private val chunkMethodRegistry: ChunkMethodRegistry,
+  private val component: Module
+) {
+
+  private val chunks = ArrayList<Chunk>()
+
+  fun implementInjectorConfigurator() {
+    classVisitor.newMethod(ACC_PUBLIC, CONFIGURE_INJECTOR_METHOD) {
+      configureModule(component, component.providers.toList(), component.moduleProviders.toList(), Budget()) { loadThis() }
+    }
+
+    var index = 0
+    while (index < chunks.size) {
+      val chunk = chunks[index++]
+      classVisitor.newMethod(ACC_PRIVATE or ACC_SYNTHETIC, chunk.method) {
+        configureModule(chunk.module, chunk.providers, chunk.moduleProviders, Budget()) { loadArg(1) }
+      }
+    }
+  }
+
+  private fun GeneratorAdapter.configureModule(
+    module: Module,
+    providers: List<Provider>,
+    moduleProviders: List<ModuleProvider>,
+    budget: Budget,
+    loadModule: GeneratorAdapter.() -> Unit
+  ) {
+    val count = minOf(providers.size, budget.remaining)
+    registerProviders(component.type, keyRegistry, providers.subList(0, count), loadModule)
+    budget.remaining -= count
+    if (count < providers.size) {
+      configureModuleInChunk(module, providers.subList(count, providers.size), moduleProviders, loadModule)
+      return
+    }
+
+    moduleProviders.forEachIndexed { index, moduleProvider ->
+      if (budget.remaining <= 0) {
+        configureModuleInChunk(module, emptyList(), moduleProviders.subList(index, moduleProviders.size), loadModule)
+        return
+      }
+
+      configureImportedModule(module.type, moduleProvider, budget, loadModule)
+    }
+  }
+
+  private fun GeneratorAdapter.configureImportedModule(
+    containerType: Type.Object,
+    moduleProvider: ModuleProvider,
+    budget: Budget,
+    loadContainer: GeneratorAdapter.() -> Unit
+  ) {
+    if (!flatteningChecker.canFlatten(component.type, containerType, moduleProvider)) {
+      configureInjectorWithModule(containerType, moduleProvider, loadContainer)
+      budget.remaining -= 1
+      return
+    }
+
+    val module = moduleProvider.module
+    val moduleLocal = newLocal(module.type) {
+      loadModule(containerType, moduleProvider.provisionPoint, loadContainer)
+    }
+    budget.remaining -= 1
+    configureModule(module, module.providers.toList(), module.moduleProviders.toList(), budget) { loadLocal(moduleLocal) }
+  }
+
+  private fun GeneratorAdapter.configureModuleInChunk(
+    module: Module,
+    providers: List<Provider>,
+    moduleProviders: List<ModuleProvider>,
+    loadModule: GeneratorAdapter.() -> Unit
+  ) {
+    val method = chunkMethodRegistry.addChunkMethod(
+      CONFIGURE_INJECTOR_METHOD.name,
+      getMethodType(Type.Primitive.Void, LightsaberTypes.LIGHTSABER_INJECTOR_TYPE, module.type)
+    )
+    chunks += Chunk(method, module, providers, moduleProviders)
+
+    loadThis()
+    loadArg(0)
+    loadModule()
+    invokePrivate(component.type, method)
+  }
+
+  private class Chunk(
+    val method: MethodDescriptor,
+    val module: Module,
+    val providers: List<Provider>,
+    val moduleProviders: List<ModuleProvider>
+  )
+
+  private class Budget(var remaining: Int = MAX_REGISTRATIONS_PER_METHOD)
+}
@@ -30,7 +30,11 @@ import io.michaelrocks.lightsaber.processor.generation.model.KeyRegistry
 import io.michaelrocks.lightsaber.processor.model.InjectionPoint
 import io.michaelrocks.lightsaber.processor.model.InjectionTarget
 import org.objectweb.asm.ClassVisitor
+import org.objectweb.asm.FieldVisitor
+import org.objectweb.asm.Opcodes.ACC_FINAL
 import org.objectweb.asm.Opcodes.ACC_PUBLIC
+import org.objectweb.asm.Opcodes.V9
+import java.util.HashSet
 import java.util.ArrayList
 
 class InjectableTargetPatcher(
@@ -43,7 +47,10 @@ class InjectableTargetPatcher(
   private val fields: Collection<InjectionPoint.Field>
   private val methods: Collection<InjectionPoint.Method>
 
+  private val injectedFieldNames: Set<String>
+
   private var isMembersInjector = false
+  private var isFinalFieldUpdateRestricted = false
   private var superType: Type.Object? = null
 
   init {
@@ -59,6 +66,7 @@ class InjectableTargetPatcher(
 
     this.fields = fields
     this.methods = methods
+    this.injectedFieldNames = fields.mapTo(HashSet()) { it.field.name }
   }
 
   override fun visit(
@@ -70,6 +78,9 @@ class InjectableTargetPatcher(
       val newInterfaces = if (interfaces == null) arrayOf(membersInjectorType) else interfaces + membersInjectorType
       super.visit(version, access, name, signature, superName, newInterfaces)
       superType = if (hasSuperMembersInjector && superName != null) getObjectTypeByInternalName(superName) else null
+      // The JVM rejects updates of final instance fields outside of constructors in class files of version 53 (Java 9)
+      // and newer, so injected fields of such classes cannot stay final.
+      isFinalFieldUpdateRestricted = (version and 0xFFFF) >= V9
       isDirty = true
     } else {
       super.visit(version, access, name, signature, superName, interfaces)
@@ -77,6 +88,15 @@ class InjectableTargetPatcher(
     }
   }
 
+  override fun visitField(
+    access: Int, name: String, descriptor: String, signature: String?, value: Any?
+  ): FieldVisitor? {
+    if (isFinalFieldUpdateRestricted && (access and ACC_FINAL) != 0 && name in injectedFieldNames) {
+      return super.visitField(access and ACC_FINAL.inv(), name, descriptor, signature, value)
+    }
+    return super.visitField(access, name, descriptor, signature, value)
+  }
+
   override fun visitEnd() {
     if (!isMembersInjector) {
       newMethod(ACC_PUBLIC, INJECT_FIELDS_METHOD) { injectFields(fields) }
@@ -0,0 +1,162 @@
+/*
+ * Copyright 2020 Michael Rozumyanskiy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.michaelrocks.lightsaber.processor.injection
+
+import io.michaelrocks.grip.mirrors.Type
+import io.michaelrocks.grip.mirrors.getObjectTypeByInternalName
+import io.michaelrocks.grip.mirrors.isStatic
+import io.michaelrocks.lightsaber.LightsaberTypes
+import io.michaelrocks.lightsaber.processor.commons.GeneratorAdapter
+import io.michaelrocks.lightsaber.processor.commons.Types
+import io.michaelrocks.lightsaber.processor.commons.invokeMethod
+import io.michaelrocks.lightsaber.processor.commons.toFieldDescriptor
+import io.michaelrocks.lightsaber.processor.commons.toMethodDescriptor
+import io.michaelrocks.lightsaber.processor.descriptors.MethodDescriptor
+import io.michaelrocks.lightsaber.processor.generation.model.KeyRegistry
+import io.michaelrocks.lightsaber.processor.generation.registerOverride
+import io.michaelrocks.lightsaber.processor.generation.registerProvider
+import io.michaelrocks.lightsaber.processor.model.ModuleProvider
+import io.michaelrocks.lightsaber.processor.model.ModuleProvisionPoint
+import io.michaelrocks.lightsaber.processor.model.Provider
+import io.michaelrocks.lightsaber.processor.model.isConstructorProvider
+import io.michaelrocks.lightsaber.processor.model.isSingleton
+import org.objectweb.asm.Opcodes.F_NEW
+import org.objectweb.asm.commons.GeneratorAdapter.NE
+
+internal val CONFIGURE_INJECTOR_METHOD =
+  MethodDescriptor.forMethod("configureInjector", Type.Primitive.Void, LightsaberTypes.LIGHTSABER_INJECTOR_TYPE)
+
+// A registration takes up to 40 bytes of bytecode so this limit keeps methods below HotSpot's HugeMethodLimit of
+// 8000 bytes. Larger methods are never compiled by JIT.
+internal const val MAX_REGISTRATIONS_PER_METHOD = 200
+
+internal fun GeneratorAdapter.registerProviders(
+  ownerType: Type.Object,
+  keyRegistry: KeyRegistry,
+  providers: Iterable<Provider>,
+  loadModule: GeneratorAdapter.() -> Unit
+) {
+  providers.forEach { provider ->
+    if (provider.isSingleton) {
+      // A singleton provider allocates a slot in the singleton storage, so it isn't created at all if it's overridden.
+      val registeredLabel = newLabel()
+      loadArg(0)
+      registerOverride(keyRegistry, provider)
+      ifZCmp(NE, registeredLabel)
+      registerNewProvider(keyRegistry, provider, loadModule)
+      visitLabel(registeredLabel)
+      visitArgumentsFrame(ownerType)
+    } else {
+      registerNewProvider(keyRegistry, provider, loadModule)
+    }
+  }
+}
+
+private fun GeneratorAdapter.registerNewProvider(
+  keyRegistry: KeyRegistry,
+  provider: Provider,
+  loadModule: GeneratorAdapter.() -> Unit
+) {
+  loadArg(0)
+  registerProvider(keyRegistry, provider) {
+    if (provider.isConstructorProvider) {
+      newConstructorProvider(provider)
+    } else {
+      newModuleProvider(provider, loadModule)
+    }
+  }
+}
+
+// Patched classes don't get their frames recomputed so a frame is emitted explicitly. Only the locals of the method
+// itself are specified, locals created with newLocal() are added to the frame by the adapter.
+private fun GeneratorAdapter.visitArgumentsFrame(ownerType: Type.Object) {
+  val locals = arrayOf<Type>(ownerType) + argumentTypes.map { getObjectTypeByInternalName(it.internalName) }
+  visitFrame(F_NEW, locals.size, locals, 0, emptyArray())
+}
+
+internal fun GeneratorAdapter.configureInjectorWithModule(
+  containerType: Type.Object,
+  moduleProvider: ModuleProvider,
+  loadContainer: GeneratorAdapter.() -> Unit
+) {
+  loadModule(containerType, moduleProvider.provisionPoint, loadContainer)
+  // TODO: It would be better to throw ConfigurationException here.
+  checkCast(LightsaberTypes.INJECTOR_CONFIGURATOR_TYPE)
+  loadArg(0)
+  invokeInterface(LightsaberTypes.INJECTOR_CONFIGURATOR_TYPE, CONFIGURE_INJECTOR_METHOD)
+}
+
+internal fun GeneratorAdapter.loadModule(
+  containerType: Type.Object,
+  provisionPoint: ModuleProvisionPoint,
+  loadContainer: GeneratorAdapter.() -> Unit
+) {
+  return when (provisionPoint) {
+    is ModuleProvisionPoint.Method -> loadModule(containerType, provisionPoint, loadContainer)
+    is ModuleProvisionPoint.Field -> loadModule(containerType, provisionPoint, loadContainer)
+    is ModuleProvisionPoint.InverseImport -> loadModule(provisionPoint)
+  }
+}
+
+private fun GeneratorAdapter.loadModule(
+  containerType: Type.Object,
+  provisionPoint: ModuleProvisionPoint.Method,
+  loadContainer: GeneratorAdapter.() -> Unit
+) {
+  if (!provisionPoint.method.isStatic) {
+    loadContainer()
+    invokeMethod(containerType, provisionPoint.method)
+  } else {
+    invokeStatic(containerType, provisionPoint.method.toMethodDescriptor())
+  }
+}
+
+private fun GeneratorAdapter.loadModule(
+  containerType: Type.Object,
+  provisionPoint: ModuleProvisionPoint.Field,
+  loadContainer: GeneratorAdapter.() -> Unit
+) {
+  if (!provisionPoint.field.isStatic) {
+    loadContainer()
+    getField(containerType, provisionPoint.field.toFieldDescriptor())
+  } else {
+    getStatic(containerType, provisionPoint.field.toFieldDescriptor())
+  }
+}
+
+private fun GeneratorAdapter.loadModule(provisionPoint: ModuleProvisionPoint.InverseImport) {
+  newInstance(provisionPoint.importeeType)
+  dup()
+  invokeConstructor(provisionPoint.importeeType, MethodDescriptor.forDefaultConstructor())
+}
+
+private fun GeneratorAdapter.newModuleProvider(provider: Provider, loadModule: GeneratorAdapter.() -> Unit) {
+  newInstance(provider.type)
+  dup()
+  loadModule()
+  loadArg(0)
+  val constructor = MethodDescriptor.forConstructor(provider.moduleType, Types.INJECTOR_TYPE)
+  invokeConstructor(provider.type, constructor)
+}
+
+private fun GeneratorAdapter.newConstructorProvider(provider: Provider) {
+  newInstance(provider.type)
+  dup()
+  loadArg(0)
+  val constructor = MethodDescriptor.forConstructor(Types.INJECTOR_TYPE)
+  invokeConstructor(provider.type, constructor)
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2020 Michael Rozumyanskiy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.michaelrocks.lightsaber.processor.injection
+
+import io.michaelrocks.grip.ClassRegistry
+import io.michaelrocks.grip.mirrors.Type
+import io.michaelrocks.grip.mirrors.isDefaultConstructor
+import io.michaelrocks.grip.mirrors.isPrivate
+import io.michaelrocks.grip.mirrors.isPublic
+import io.michaelrocks.grip.mirrors.packageName
+import io.michaelrocks.grip.mirrors.signature.GenericType
+import io.michaelrocks.lightsaber.processor.commons.boxed
+import io.michaelrocks.lightsaber.processor.generation.model.KeyRegistry
+import io.michaelrocks.lightsaber.processor.model.ModuleProvider
+import io.michaelrocks.lightsaber.processor.model.ModuleProvisionPoint
+import io.michaelrocks.lightsaber.processor.model.Provider
+
+class ModuleFlatteningChecker(
+  private val classRegistry: ClassRegistry,
+  private val keyRegistry: KeyRegistry,
+  private val processedTypes: Set<Type.Object>
+) {
+
+  fun canFlatten(componentType: Type.Object, containerType: Type.Object, moduleProvider: ModuleProvider): Boolean {
+    val module = moduleProvider.module
+    // Bridges and provider classes of a module are only guaranteed to exist if the module is processed right now.
+    // Modules imported by a flattened module are loaded by the component even if they aren't flattened themselves, so
+    // their import points must be accessible from the component too.
+    return module.type in processedTypes &&
+        isTypeAccessible(componentType, module.type) &&
+        isProvisionPointAccessible(componentType, containerType, moduleProvider.provisionPoint) &&
+        module.providers.all { isProviderAccessible(componentType, it) } &&
+        module.moduleProviders.all { isProvisionPointAccessible(componentType, module.type, it.provisionPoint) }
+  }
+
+  private fun isProvisionPointAccessible(
+    componentType: Type.Object,
+    containerType: Type.Object,
+    provisionPoint: ModuleProvisionPoint
+  ): Boolean {
+    return when (provisionPoint) {
+      is ModuleProvisionPoint.Method ->
+        isMemberAccessible(componentType, containerType, provisionPoint.method.isPublic, provisionPoint.method.isPrivate)
+      is ModuleProvisionPoint.Field ->
+        isMemberAccessible(componentType, containerType, provisionPoint.field.isPublic, provisionPoint.field.isPrivate)
+      is ModuleProvisionPoint.InverseImport -> {
+        val constructor = classRegistry.getClassMirror(provisionPoint.importeeType).constructors.firstOrNull { it.isDefaultConstructor }
+        constructor != null && isMemberAccessible(componentType, provisionPoint.importeeType, constructor.isPublic, constructor.isPrivate)
+      }
+    }
+  }
+
+  private fun isMemberAccessible(componentType: Type.Object, ownerType: Type.Object, isPublic: Boolean, isPrivate: Boolean): Boolean {
+    return when {
+      componentType == ownerType -> true
+      isPublic -> true
+      isPrivate -> false
+      else -> componentType.packageName == ownerType.packageName
+    }
+  }
+
+  private fun isProviderAccessible(componentType: Type.Object, provider: Provider): Boolean {
+    // Dependencies without a key are pushed as class literals so their types must be accessible from the component.
+    val dependency = provider.dependency.boxed()
+    val type = dependency.type
+    return dependency in keyRegistry.keys || type !is GenericType.Raw || isTypeAccessible(componentType, type.type)
+  }
+
+  private fun isTypeAccessible(componentType: Type.Object, type: Type): Boolean {
+    return when (type) {
+      is Type.Primitive -> true
+      is Type.Array -> isTypeAccessible(componentType, type.elementType)
+      is Type.Object -> type.packageName == componentType.packageName || classRegistry.getClassMirror(type).isPublic
+      is Type.Method -> false
+    }
+  }
+}
@@ -18,10 +18,11 @@ package io.michaelrocks.lightsaber.processor.injection
 
 import io.michaelrocks.grip.mirrors.FieldMirror
 import io.michaelrocks.grip.mirrors.MethodMirror
+import io.michaelrocks.grip.mirrors.Type
+import io.michaelrocks.grip.mirrors.getMethodType
 import io.michaelrocks.grip.mirrors.isStatic
 import io.michaelrocks.lightsaber.LightsaberTypes
 import io.michaelrocks.lightsaber.processor.commons.GeneratorAdapter
-import io.michaelrocks.lightsaber.processor.commons.Types
 import io.michaelrocks.lightsaber.processor.commons.exhaustive
 import io.michaelrocks.lightsaber.processor.commons.invokeMethod
 import io.michaelrocks.lightsaber.processor.commons.newMethod
@@ -30,25 +31,29 @@ import io.michaelrocks.lightsaber.processor.commons.toMethodDescriptor
 import io.michaelrocks.lightsaber.processor.descriptors.FieldDescriptor
 import io.michaelrocks.lightsaber.processor.descriptors.MethodDescriptor
 import io.michaelrocks.lightsaber.processor.generation.model.KeyRegistry
-import io.michaelrocks.lightsaber.processor.generation.registerProvider
+import io.michaelrocks.lightsaber.processor.generation.model.NestRegistry
 import io.michaelrocks.lightsaber.processor.model.Module
-import io.michaelrocks.lightsaber.processor.model.Provider
 import io.michaelrocks.lightsaber.processor.model.ProvisionPoint
-import io.michaelrocks.lightsaber.processor.model.isConstructorProvider
 import org.objectweb.asm.ClassVisitor
+import org.objectweb.asm.MethodVisitor
+import org.objectweb.asm.Opcodes.ACC_PRIVATE
 import org.objectweb.asm.Opcodes.ACC_PUBLIC
 import org.objectweb.asm.Opcodes.ACC_SYNTHETIC
 
 class ModulePatcher(
   classVisitor: ClassVisitor,
   private val keyRegistry: KeyRegistry,
-  private val module: Module
+  private val module: Module,
+  private val flatteningChecker: ModuleFlatteningChecker? = null,
+  private val nestRegistry: NestRegistry? = null
 ) : BaseInjectionClassVisitor(classVisitor) {
 
   private val providableFields: MutableSet<FieldDescriptor>
   private val providableMethods: MutableSet<MethodDescriptor>
+  private val chunkMethodRegistry = ChunkMethodRegistry()
 
   private var isInjectorConfigurator = false
+  private var isNestMember = false
 
   init {
     providableFields = HashSet(module.providers.size)
@@ -63,6 +68,7 @@ class ModulePatcher(
           is ProvisionPoint.Binding -> Unit
         }
       )
+      provisionPoint.bridge?.let { chunkMethodRegistry.reserveMethod(it.method.toMethodDescriptor()) }
     }
   }
 
@@ -79,16 +85,73 @@ class ModulePatcher(
     }
   }
 
+  override fun visitMethod(
+    access: Int,
+    name: String,
+    desc: String,
+    signature: String?,
+    exceptions: Array<String>?
+  ): MethodVisitor? {
+    chunkMethodRegistry.reserveMethod(MethodDescriptor(name, desc))
+    return super.visitMethod(access, name, desc, signature, exceptions)
+  }
+
+  override fun visitNestHost(nestHost: String) {
+    super.visitNestHost(nestHost)
+    isNestMember = true
+  }
+
   override fun visitEnd() {
     if (!isInjectorConfigurator) {
-      generateBridges()
-      InjectorConfiguratorImplementor(this, module.type).implementInjectorConfigurator(module.moduleProviders) {
-        registerProviders()
+      if (nestRegistry != null && !isNestMember) {
+        addProvidersToNest(nestRegistry)
+      } else {
+        generateBridges()
+      }
+      if (flatteningChecker != null) {
+        FlatInjectorConfiguratorImplementor(this, keyRegistry, flatteningChecker, chunkMethodRegistry, module)
+          .implementInjectorConfigurator()
+      } else {
+        implementInjectorConfigurator()
       }
     }
     super.visitEnd()
   }
 
+  private fun implementInjectorConfigurator() {
+    // Registrations that don't fit into a single method are moved to private synthetic methods so that every method
+    // stays small enough to be compiled by JIT.
+    val chunks = module.providers.chunked(MAX_REGISTRATIONS_PER_METHOD)
+    val chunkMethodType = getMethodType(Type.Primitive.Void, LightsaberTypes.LIGHTSABER_INJECTOR_TYPE)
+    val chunkMethods = List(maxOf(chunks.size - 1, 0)) {
+      chunkMethodRegistry.addChunkMethod(CONFIGURE_INJECTOR_METHOD.name, chunkMethodType)
+    }
+
+    InjectorConfiguratorImplementor(this, module.type).implementInjectorConfigurator(module.moduleProviders) {
+      chunks.firstOrNull()?.let { registerProviders(module.type, keyRegistry, it) { loadThis() } }
+      chunkMethods.forEach { method ->
+        loadThis()
+        loadArg(0)
+        invokePrivate(module.type, method)
+      }
+    }
+
+    chunkMethods.forEachIndexed { index, method ->
+      newMethod(ACC_PRIVATE or ACC_SYNTHETIC, method) {
+        registerProviders(module.type, keyRegistry, chunks[index + 1]) { loadThis() }
+      }
+    }
+  }
+
+  private fun addProvidersToNest(nestRegistry: NestRegistry) {
+    val nestMembers = module.providers.filter { it.provisionPoint.bridge != null }
+    if (nestMembers.isNotEmpty()) {
+      nestMembers.forEach { visitNestMember(it.type.internalName) }
+      nestRegistry.addNestHost(module.type)
+      isDirty = true
+    }
+  }
+
   private fun generateBridges() {
     module.providers.forEach { provider ->
       val provisionPoint = provider.provisionPoint
@@ -125,34 +188,4 @@ class ModulePatcher(
     loadArgs()
     invokeMethod(module.type, method)
   }
-
-  private fun GeneratorAdapter.registerProviders() {
-    module.providers.forEach { provider ->
-      loadArg(0)
-      registerProvider(keyRegistry, provider) {
-        if (provider.isConstructorProvider) {
-          newConstructorProvider(provider)
-        } else {
-          newModuleProvider(provider)
-        }
-      }
-    }
-  }
-
-  private fun GeneratorAdapter.newModuleProvider(provider: Provider) {
-    newInstance(provider.type)
-    dup()
-    loadThis()
-    loadArg(0)
-    val constructor = MethodDescriptor.forConstructor(provider.moduleType, Types.INJECTOR_TYPE)
-    invokeConstructor(provider.type, constructor)
-  }
-
-  private fun GeneratorAdapter.newConstructorProvider(provider: Provider) {
-    newInstance(provider.type)
-    dup()
-    loadArg(0)
-    val constructor = MethodDescriptor.forConstructor(Types.INJECTOR_TYPE)
-    invokeConstructor(provider.type, constructor)
-  }
 }
@@ -21,6 +21,7 @@ import io.michaelrocks.grip.mirrors.Type
 import io.michaelrocks.grip.mirrors.getObjectTypeByInternalName
 import io.michaelrocks.lightsaber.processor.commons.Types
 import io.michaelrocks.lightsaber.processor.generation.model.KeyRegistry
+import io.michaelrocks.lightsaber.processor.generation.model.NestRegistry
 import io.michaelrocks.lightsaber.processor.model.InjectionContext
 import io.michaelrocks.lightsaber.processor.model.InjectionTarget
 import org.objectweb.asm.ClassVisitor
@@ -30,8 +31,10 @@ class Patcher(
   classVisitor: ClassVisitor,
   private val classRegistry: ClassRegistry,
   private val keyRegistry: KeyRegistry,
-  private val context: InjectionContext
-) : ClassVisitor(Opcodes.ASM5, classVisitor) {
+  private val context: InjectionContext,
+  private val flatteningChecker: ModuleFlatteningChecker? = null,
+  private val nestRegistry: NestRegistry? = null
+) : ClassVisitor(Opcodes.ASM7, classVisitor) {
 
   override fun visit(
     version: Int,
@@ -42,13 +45,18 @@ class Patcher(
     interfaces: Array<String>?
   ) {
     val type = getObjectTypeByInternalName(name)
+    // Dynamic constants and nest-based access control work only for class files of version 55 (Java 11) and newer.
+    val isJava11Class = version and 0xFFFF >= Opcodes.V11
+    val classKeyRegistry = if (isJava11Class) keyRegistry else keyRegistry.withoutConstantDynamic
+    val classNestRegistry = if (isJava11Class) nestRegistry else null
 
     context.findModuleByType(type)?.also {
-      cv = ModulePatcher(cv, keyRegistry, it)
+      val componentFlatteningChecker = flatteningChecker?.takeIf { context.findComponentByType(type) != null }
+      cv = ModulePatcher(cv, classKeyRegistry, it, componentFlatteningChecker, classNestRegistry)
     }
 
     context.findInjectableTargetByType(type)?.also {
-      cv = InjectableTargetPatcher(cv, keyRegistry, it, it.hasSuperMembersInjector())
+      cv = InjectableTargetPatcher(cv, classKeyRegistry, it, it.hasSuperMembersInjector())
     }
 
     context.findProvidableTargetByType(type)?.also {
@@ -74,4 +82,14 @@ class Patcher(
 
     return context.findInjectableTargetByType(superType) ?: findSuperInjectableTarget(superType)
   }
+
+  companion object {
+    // Must be in sync with the patchers installed in visit().
+    fun isPatchingRequired(context: InjectionContext, type: Type.Object): Boolean {
+      return context.findModuleByType(type) != null ||
+          context.findInjectableTargetByType(type) != null ||
+          context.findProvidableTargetByType(type) != null ||
+          context.findFactoryInjectionPointByType(type) != null
+    }
+  }
 }
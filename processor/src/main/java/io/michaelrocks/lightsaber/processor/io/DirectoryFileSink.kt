@@ -17,16 +17,38 @@
 package io.michaelrocks.lightsaber.processor.io
 
 import java.io.File
+import java.io.InputStream
+import java.nio.file.Files
+import java.nio.file.StandardCopyOption
+import java.util.Collections
+import java.util.concurrent.ConcurrentHashMap
 
+// Files may be created from multiple threads concurrently as long as their paths are different.
 class DirectoryFileSink(private val directory: File) : FileSink {
+  private val createdDirectories = Collections.newSetFromMap(ConcurrentHashMap<File, Boolean>())
+
   override fun createFile(path: String, data: ByteArray) {
     val file = File(directory, path)
-    file.parentFile?.mkdirs()
+    file.parentFile?.let { createDirectories(it) }
     file.writeBytes(data)
   }
 
+  override fun createFile(path: String, input: InputStream) {
+    val file = File(directory, path)
+    file.parentFile?.let { createDirectories(it) }
+    Files.copy(input, file.toPath(), StandardCopyOption.REPLACE_EXISTING)
+  }
+
   override fun createDirectory(path: String) {
-    File(directory, path).mkdirs()
+    createDirectories(File(directory, path))
+  }
+
+  private fun createDirectories(directory: File) {
+    if (directory !in createdDirectories) {
+      // Unlike File.mkdirs() this method doesn't fail when another thread creates the same directory.
+      Files.createDirectories(directory.toPath())
+      createdDirectories += directory
+    }
   }
 
   override fun flush() {
@@ -17,6 +17,7 @@
 package io.michaelrocks.lightsaber.processor.io
 
 import java.io.File
+import java.io.InputStream
 
 internal class DirectoryFileSource(private val directory: File) : FileSource {
   override fun listFiles(callback: (String, FileSource.EntryType) -> Unit) {
@@ -33,6 +34,8 @@ internal class DirectoryFileSource(private val directory: File) : FileSource {
 
   override fun readFile(path: String): ByteArray = File(directory, path).readBytes()
 
+  override fun openFile(path: String): InputStream = File(directory, path).inputStream()
+
   override fun close() {
   }
 
@@ -16,11 +16,17 @@
 
 package io.michaelrocks.lightsaber.processor.io
 
+import java.io.InputStream
+
 object EmptyFileSink : FileSink {
   override fun createFile(path: String, data: ByteArray) {
     throw UnsupportedOperationException()
   }
 
+  override fun createFile(path: String, input: InputStream) {
+    throw UnsupportedOperationException()
+  }
+
   override fun createDirectory(path: String) {
     throw UnsupportedOperationException()
   }
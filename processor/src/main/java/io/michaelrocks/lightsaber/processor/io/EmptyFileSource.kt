@@ -16,6 +16,8 @@
 
 package io.michaelrocks.lightsaber.processor.io
 
+import java.io.InputStream
+
 object EmptyFileSource : FileSource {
   override fun listFiles(callback: (String, FileSource.EntryType) -> Unit) {
   }
@@ -24,6 +26,10 @@ object EmptyFileSource : FileSource {
     throw UnsupportedOperationException()
   }
 
+  override fun openFile(path: String): InputStream {
+    throw UnsupportedOperationException()
+  }
+
   override fun close() {
   }
 
@@ -18,9 +18,11 @@ package io.michaelrocks.lightsaber.processor.io
 
 import java.io.Closeable
 import java.io.File
+import java.io.InputStream
 
 interface FileSink : Closeable {
   fun createFile(path: String, data: ByteArray)
+  fun createFile(path: String, input: InputStream)
   fun createDirectory(path: String)
   fun flush()
 
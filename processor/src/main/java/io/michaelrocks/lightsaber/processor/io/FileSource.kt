@@ -18,10 +18,12 @@ package io.michaelrocks.lightsaber.processor.io
 
 import java.io.Closeable
 import java.io.File
+import java.io.InputStream
 
 interface FileSource : Closeable {
   fun listFiles(callback: (name: String, type: EntryType) -> Unit)
   fun readFile(path: String): ByteArray
+  fun openFile(path: String): InputStream
 
   enum class EntryType {
     CLASS,
@@ -18,6 +18,7 @@ package io.michaelrocks.lightsaber.processor.io
 
 import io.michaelrocks.lightsaber.processor.commons.closeQuietly
 import java.io.File
+import java.io.InputStream
 import java.util.jar.JarEntry
 import java.util.jar.JarOutputStream
 
@@ -31,6 +32,13 @@ internal class JarFileSink(private val jarFile: File) : FileSink {
     stream.closeEntry()
   }
 
+  override fun createFile(path: String, input: InputStream) {
+    val entry = JarEntry(path)
+    stream.putNextEntry(entry)
+    input.copyTo(stream)
+    stream.closeEntry()
+  }
+
   override fun createDirectory(path: String) {
     val directoryPath = if (path.endsWith("/")) path else "$path/"
     val entry = JarEntry(directoryPath)
@@ -19,6 +19,7 @@ package io.michaelrocks.lightsaber.processor.io
 import io.michaelrocks.lightsaber.processor.commons.using
 import java.io.File
 import java.io.IOException
+import java.io.InputStream
 import java.util.jar.JarEntry
 import java.util.jar.JarFile
 
@@ -43,6 +44,10 @@ internal class JarFileSource(private val jarFile: File) : FileSource {
     }
   }
 
+  override fun openFile(path: String): InputStream {
+    return jar.getInputStream(jar.getJarEntry(path))
+  }
+
   override fun close() {
     try {
       jar.close()
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2020 Michael Rozumyanskiy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.michaelrocks.lightsaber.processor.io
+
+import io.michaelrocks.lightsaber.processor.commons.getOrRethrow
+import io.michaelrocks.lightsaber.processor.commons.using
+import java.util.ArrayDeque
+import java.util.concurrent.Future
+
+/**
+ * Writes entries to a file sink in the order they're added even if their content is computed asynchronously. At most
+ * [maxPendingEntries] entries wait to be written, so a producer blocks on the oldest entry instead of buffering all of
+ * them.
+ */
+class OrderedEntryWriter(
+  private val fileSink: FileSink,
+  private val maxPendingEntries: Int
+) {
+
+  private val pendingEntries = ArrayDeque<PendingEntry>()
+
+  init {
+    require(maxPendingEntries > 0) { "maxPendingEntries must be positive: $maxPendingEntries" }
+  }
+
+  fun addFile(path: String, data: ByteArray) {
+    addEntry(PendingEntry.LoadedFile(path, data))
+  }
+
+  fun addFile(path: String, data: Future<ByteArray>) {
+    addEntry(PendingEntry.ComputedFile(path, data))
+  }
+
+  fun addFile(path: String, fileSource: FileSource) {
+    addEntry(PendingEntry.CopiedFile(path, fileSource))
+  }
+
+  fun addDirectory(path: String) {
+    addEntry(PendingEntry.Directory(path))
+  }
+
+  fun flush() {
+    while (pendingEntries.isNotEmpty()) {
+      pendingEntries.removeFirst().writeTo(fileSink)
+    }
+    fileSink.flush()
+  }
+
+  private fun addEntry(entry: PendingEntry) {
+    pendingEntries.addLast(entry)
+    while (pendingEntries.size > maxPendingEntries) {
+      pendingEntries.removeFirst().writeTo(fileSink)
+    }
+  }
+
+  private sealed class PendingEntry {
+    abstract fun writeTo(fileSink: FileSink)
+
+    class LoadedFile(private val path: String, private val data: ByteArray) : PendingEntry() {
+      override fun writeTo(fileSink: FileSink) = fileSink.createFile(path, data)
+    }
+
+    class ComputedFile(private val path: String, private val data: Future<ByteArray>) : PendingEntry() {
+      override fun writeTo(fileSink: FileSink) = fileSink.createFile(path, data.getOrRethrow())
+    }
+
+    class CopiedFile(private val path: String, private val fileSource: FileSource) : PendingEntry() {
+      override fun writeTo(fileSink: FileSink) = using(fileSource.openFile(path)) { fileSink.createFile(path, it) }
+    }
+
+    class Directory(private val path: String) : PendingEntry() {
+      override fun writeTo(fileSink: FileSink) = fileSink.createDirectory(path)
+    }
+  }
+}
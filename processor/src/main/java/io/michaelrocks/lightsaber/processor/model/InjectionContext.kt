@@ -23,6 +23,7 @@ data class InjectionContext(
   val injectableTargets: Collection<InjectionTarget>,
   val providableTargets: Collection<InjectionTarget>,
   val factories: Collection<Factory>,
+  val accessorInterfaces: Collection<AccessorInterface>,
   val bindings: Collection<Binding>
 ) {
 
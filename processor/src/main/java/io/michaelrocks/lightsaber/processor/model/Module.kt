@@ -22,7 +22,8 @@ data class Module(
   val type: Type.Object,
   val moduleProviders: Collection<ModuleProvider>,
   val providers: Collection<Provider>,
-  val factories: Collection<Factory>
+  val factories: Collection<Factory>,
+  val accessorInterfaces: Collection<AccessorInterface>
 ) {
 
   val modules: Collection<Module> = moduleProviders.map { it.module }
@@ -17,6 +17,7 @@
 package io.michaelrocks.lightsaber.processor.model
 
 import io.michaelrocks.grip.mirrors.Type
+import io.michaelrocks.lightsaber.LightsaberTypes
 
 data class Provider(
   val type: Type.Object,
@@ -31,3 +32,6 @@ data class Provider(
 
 val Provider.isConstructorProvider: Boolean
   get() = provisionPoint is ProvisionPoint.Constructor
+
+val Provider.isSingleton: Boolean
+  get() = scope is Scope.Class && scope.scopeType == LightsaberTypes.SINGLETON_PROVIDER_TYPE
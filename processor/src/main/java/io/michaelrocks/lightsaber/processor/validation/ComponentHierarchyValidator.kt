@@ -0,0 +1,266 @@
+/*
+ * Copyright 2020 Michael Rozumyanskiy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.michaelrocks.lightsaber.processor.validation
+
+import io.michaelrocks.grip.mirrors.Type
+import io.michaelrocks.grip.mirrors.signature.GenericType
+import io.michaelrocks.lightsaber.processor.ErrorReporter
+import io.michaelrocks.lightsaber.processor.commons.Types
+import io.michaelrocks.lightsaber.processor.commons.boxed
+import io.michaelrocks.lightsaber.processor.commons.getDependencies
+import io.michaelrocks.lightsaber.processor.graph.findCycles
+import io.michaelrocks.lightsaber.processor.model.Component
+import io.michaelrocks.lightsaber.processor.model.Dependency
+import io.michaelrocks.lightsaber.processor.model.FactoryInjectee
+import io.michaelrocks.lightsaber.processor.model.InjectionContext
+import io.michaelrocks.lightsaber.processor.model.Module
+import io.michaelrocks.lightsaber.processor.model.Provider
+import java.util.concurrent.Callable
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Future
+
+/**
+ * Validates a component together with its subcomponents in a single traversal of the component tree. The state
+ * inherited from ancestor components is updated incrementally when a component is entered and is rolled back when it's
+ * left, so every module and provider is visited once regardless of the depth of the hierarchy.
+ *
+ * Only the duplicate checks run during the traversal. The other checks of a component need just the dependencies
+ * provided by the component and its ancestors, so they're submitted to an executor with an immutable view of these
+ * dependencies and run in parallel with the traversal and with each other.
+ */
+class ComponentHierarchyValidator(
+  private val context: InjectionContext,
+  private val executor: ExecutorService
+) {
+
+  private val componentTypesByModuleType = HashMap<Type.Object, MutableList<Type.Object>>()
+  private val moduleTypesByDependency = HashMap<Dependency, MutableList<Type.Object>>()
+
+  /**
+   * Validates a component hierarchy and returns its errors in the order they have to be reported in.
+   */
+  fun validate(rootComponent: Component): List<Future<ErrorReporter>> {
+    val errorReporters = ArrayList<Future<ErrorReporter>>()
+    val rootDependencies = ProvidedDependencies(null, setOf(Dependency(GenericType.Raw(Types.INJECTOR_TYPE))))
+    validateComponent(rootComponent, rootDependencies, errorReporters)
+    return errorReporters
+  }
+
+  private fun validateComponent(
+    component: Component,
+    parentDependencies: ProvidedDependencies,
+    errorReporters: MutableList<Future<ErrorReporter>>
+  ) {
+    val modules = component.getModulesWithDescendants().toList()
+    val providers = modules.flatMap { it.providers }
+
+    val duplicateErrorReporter = ErrorReporter()
+    validateNoModuleDuplicates(duplicateErrorReporter, component, modules)
+    validateNoDependencyDuplicates(duplicateErrorReporter, modules)
+    errorReporters += CompletableFuture.completedFuture(duplicateErrorReporter)
+
+    val ownDependencies = providers.mapTo(HashSet()) { it.dependency.boxed() }
+    val providedDependencies = ProvidedDependencies(parentDependencies, ownDependencies)
+    errorReporters += executor.submit(Callable {
+      ErrorReporter().also { validateComponentDependencies(it, component, modules, providers, providedDependencies) }
+    })
+
+    component.subcomponents.forEach { subcomponentType ->
+      val subcomponent = context.findComponentByType(subcomponentType)
+      if (subcomponent != null) {
+        validateComponent(subcomponent, providedDependencies, errorReporters)
+      } else {
+        val subcomponentName = subcomponentType.className
+        val componentName = component.type.className
+        val errorReporter = ErrorReporter()
+        errorReporter.reportError("Subcomponent $subcomponentName of component $componentName not found")
+        errorReporters += CompletableFuture.completedFuture(errorReporter)
+      }
+    }
+
+    modules.forEach { module ->
+      componentTypesByModuleType.removeLast(module.type)
+      module.providers.forEach { moduleTypesByDependency.removeLast(it.dependency) }
+    }
+  }
+
+  private fun validateComponentDependencies(
+    errorReporter: ErrorReporter,
+    component: Component,
+    modules: List<Module>,
+    providers: List<Provider>,
+    providedDependencies: ProvidedDependencies
+  ) {
+    validateDependenciesAreResolved(errorReporter, component, providers, providedDependencies)
+    validateNoDependencyCycles(errorReporter, component)
+    validateFactories(errorReporter, component, modules, providedDependencies)
+    validateAccessorInterfaces(errorReporter, component, modules, providedDependencies)
+  }
+
+  private fun validateNoModuleDuplicates(errorReporter: ErrorReporter, component: Component, modules: List<Module>) {
+    val moduleTypes = modules.mapTo(LinkedHashSet()) { module ->
+      componentTypesByModuleType.getOrPut(module.type, ::ArrayList).add(component.type)
+      module.type
+    }
+
+    moduleTypes.forEach { moduleType ->
+      val componentTypes = componentTypesByModuleType.getValue(moduleType)
+      if (componentTypes.size > 1) {
+        val moduleName = moduleType.className
+        val componentNames = componentTypes.joinToString { it.className }
+        errorReporter.reportError(
+          "Module $moduleName provided multiple times in a single component hierarchy: $componentNames"
+        )
+      }
+    }
+  }
+
+  private fun validateNoDependencyDuplicates(errorReporter: ErrorReporter, modules: List<Module>) {
+    val dependencies = LinkedHashSet<Dependency>()
+    modules.forEach { module ->
+      module.providers.forEach { provider ->
+        moduleTypesByDependency.getOrPut(provider.dependency, ::ArrayList).add(module.type)
+        dependencies += provider.dependency
+      }
+    }
+
+    dependencies.forEach { dependency ->
+      val moduleTypes = moduleTypesByDependency.getValue(dependency)
+      if (moduleTypes.size > 1) {
+        val moduleNames = moduleTypes.joinToString { it.className }
+        errorReporter.reportError(
+          "Dependency $dependency provided multiple times in a single component hierarchy by modules: $moduleNames"
+        )
+      }
+    }
+  }
+
+  private fun validateDependenciesAreResolved(
+    errorReporter: ErrorReporter,
+    component: Component,
+    providers: List<Provider>,
+    providedDependencies: ProvidedDependencies
+  ) {
+    val unresolvedDependencies = providers.asSequence()
+      .flatMap { it.getDependencies(context).asSequence() }
+      .filterTo(LinkedHashSet()) { it !in providedDependencies }
+    if (unresolvedDependencies.isNotEmpty()) {
+      val componentName = component.type.className
+      for (unresolvedDependency in unresolvedDependencies) {
+        errorReporter.reportError("Unresolved dependency $unresolvedDependency in component $componentName")
+      }
+    }
+  }
+
+  private fun validateNoDependencyCycles(errorReporter: ErrorReporter, component: Component) {
+    val dependencyGraph = DependencyGraphBuilder(context, true).add(component).build()
+    val cycles = dependencyGraph.findCycles()
+    if (cycles.isNotEmpty()) {
+      val componentName = component.type.className
+      for (cycle in cycles) {
+        val cycleString = cycle.joinToString(" -> ")
+        errorReporter.reportError("Dependency cycle $cycleString in component $componentName")
+      }
+    }
+  }
+
+  private fun validateFactories(
+    errorReporter: ErrorReporter,
+    component: Component,
+    modules: List<Module>,
+    providedDependencies: ProvidedDependencies
+  ) {
+    modules
+      .flatMap { module -> module.factories }
+      .distinctBy { factory -> factory.type }
+      .forEach { factory ->
+        for (provisionPoint in factory.provisionPoints) {
+          for (injectee in provisionPoint.injectionPoint.injectees) {
+            val shouldBeResolved = shouldFactoryInjecteeBeResolved(injectee)
+            val isResolved = injectee.dependency.boxed() in providedDependencies
+            if (!isResolved && shouldBeResolved) {
+              val factoryName = factory.type.className
+              val componentName = component.type.className
+              errorReporter.reportError(
+                "Unresolved dependency ${injectee.dependency} in factory $factoryName in component $componentName"
+              )
+            }
+          }
+        }
+      }
+  }
+
+  private fun validateAccessorInterfaces(
+    errorReporter: ErrorReporter,
+    component: Component,
+    modules: List<Module>,
+    providedDependencies: ProvidedDependencies
+  ) {
+    modules
+      .flatMap { module -> module.accessorInterfaces }
+      .distinctBy { accessorInterface -> accessorInterface.type }
+      .forEach { accessorInterface ->
+        for (accessor in accessorInterface.accessors) {
+          val dependency = accessor.injectee.dependency
+          if (dependency.boxed() !in providedDependencies) {
+            val accessorName = "${accessorInterface.type.className}.${accessor.method.name}"
+            val componentName = component.type.className
+            errorReporter.reportError(
+              "Unresolved dependency $dependency in accessor $accessorName in component $componentName"
+            )
+          }
+        }
+      }
+  }
+
+  private fun shouldFactoryInjecteeBeResolved(injectee: FactoryInjectee): Boolean {
+    return when (injectee) {
+      is FactoryInjectee.FromInjector -> true
+      is FactoryInjectee.FromMethod -> false
+    }
+  }
+
+  private fun <K, V> MutableMap<K, MutableList<V>>.removeLast(key: K) {
+    val values = getValue(key)
+    values.removeAt(values.lastIndex)
+    if (values.isEmpty()) {
+      remove(key)
+    }
+  }
+}
+
+/**
+ * An immutable set of dependencies provided by a component and its ancestors. The dependencies of ancestors are shared
+ * with the parent rather than copied.
+ */
+private class ProvidedDependencies(
+  private val parent: ProvidedDependencies?,
+  private val dependencies: Set<Dependency>
+) {
+
+  operator fun contains(dependency: Dependency): Boolean {
+    var current: ProvidedDependencies? = this
+    while (current != null) {
+      if (dependency in current.dependencies) {
+        return true
+      }
+      current = current.parent
+    }
+    return false
+  }
+}
@@ -28,6 +28,7 @@ import io.michaelrocks.lightsaber.processor.commons.AccessFlagStringifier
 import io.michaelrocks.lightsaber.processor.commons.Types
 import io.michaelrocks.lightsaber.processor.commons.getAncestors
 import io.michaelrocks.lightsaber.processor.commons.rawType
+import io.michaelrocks.lightsaber.processor.model.AccessorInterface
 import io.michaelrocks.lightsaber.processor.model.Binding
 import io.michaelrocks.lightsaber.processor.model.Factory
 import io.michaelrocks.lightsaber.processor.model.FactoryProvisionPoint
@@ -50,6 +51,7 @@ class SanityChecker(
     checkComponentsAndModulesExtendObject(context)
     checkModulesWithImportedByAreDefaultConstructible(context)
     checkFactories(context)
+    checkAccessorInterfaces(context)
     checkBindingsConnectValidClasses(context)
   }
 
@@ -200,6 +202,32 @@ class SanityChecker(
     }
   }
 
+  private fun checkAccessorInterfaces(context: InjectionContext) {
+    for (accessorInterface in context.accessorInterfaces) {
+      checkAccessorInterface(accessorInterface)
+    }
+  }
+
+  private fun checkAccessorInterface(accessorInterface: AccessorInterface) {
+    val mirror = classRegistry.getClassMirror(accessorInterface.type)
+
+    if (mirror.signature.typeVariables.isNotEmpty()) {
+      errorReporter.reportError("Accessor interface ${mirror.type.className} mustn't contain generic parameters")
+      return
+    }
+
+    if (mirror.interfaces.isNotEmpty()) {
+      errorReporter.reportError("Accessor interface ${mirror.type.className} mustn't extend any interfaces")
+      return
+    }
+
+    for (accessor in accessorInterface.accessors) {
+      if (accessor.method.signature.typeVariables.isNotEmpty()) {
+        errorReporter.reportError("Accessor ${mirror.type.className}.${accessor.method.name} mustn't contain generic parameters")
+      }
+    }
+  }
+
   private fun checkBindingsConnectValidClasses(context: InjectionContext) {
     val providableTargetTypes = context.providableTargets.mapTo(HashSet()) { it.type }
     for (binding in context.bindings) {
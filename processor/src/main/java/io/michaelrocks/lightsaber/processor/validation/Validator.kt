@@ -21,14 +21,14 @@ import io.michaelrocks.grip.mirrors.Element
 import io.michaelrocks.grip.mirrors.Type
 import io.michaelrocks.lightsaber.processor.ErrorReporter
 import io.michaelrocks.lightsaber.processor.commons.boxed
+import io.michaelrocks.lightsaber.processor.commons.getOrRethrow
 import io.michaelrocks.lightsaber.processor.graph.findCycles
 import io.michaelrocks.lightsaber.processor.model.Component
 import io.michaelrocks.lightsaber.processor.model.Dependency
-import io.michaelrocks.lightsaber.processor.model.Factory
-import io.michaelrocks.lightsaber.processor.model.FactoryInjectee
 import io.michaelrocks.lightsaber.processor.model.InjectionContext
 import io.michaelrocks.lightsaber.processor.model.InjectionPoint
 import io.michaelrocks.lightsaber.processor.model.InjectionTarget
+import java.util.concurrent.Executors
 
 class Validator(
   private val classRegistry: ClassRegistry,
@@ -52,151 +52,27 @@ class Validator(
       errorReporter.reportError("Component cycle ${cycle.joinToString(" -> ")}")
     }
 
-    context.components
-      .forEach { component ->
-        validateNoModuleDuplicates(component, emptyMap())
-        validateNoDependencyDuplicates(component, emptyMap())
-        validateDependenciesAreResolved(component, DependencyResolver(context))
-        validateNoDependencyCycles(component, DependencyGraphBuilder(context, true))
-        validateFactories(component, DependencyResolver(context))
-      }
-
+    validateComponentsInParallel()
     validateInjectionTargetsAreResolved(context.injectableTargets, context.components)
   }
 
-  private fun validateNoModuleDuplicates(
-    component: Component,
-    moduleToComponentsMap: Map<Type.Object, List<Type.Object>>
-  ) {
-    val newModuleTypeToComponentMap = HashMap(moduleToComponentsMap)
-    component.getModulesWithDescendants().forEach { module ->
-      val oldComponents = newModuleTypeToComponentMap[module.type]
-      val newComponents = if (oldComponents == null) listOf(component.type) else oldComponents + component.type
-      newModuleTypeToComponentMap[module.type] = newComponents
-    }
-
-    if (component.subcomponents.isEmpty()) {
-      // FIXME: This code will report duplicate errors in some cases.
-      newModuleTypeToComponentMap.forEach { (moduleType, componentTypes) ->
-        if (componentTypes.size > 1) {
-          val moduleName = moduleType.className
-          val componentNames = componentTypes.joinToString { it.className }
-          errorReporter.reportError(
-            "Module $moduleName provided multiple times in a single component hierarchy: $componentNames"
-          )
-        }
-      }
-    } else {
-      component.subcomponents.forEach { subcomponentType ->
-        val subcomponent = context.findComponentByType(subcomponentType)
-        if (subcomponent != null) {
-          validateNoModuleDuplicates(subcomponent, newModuleTypeToComponentMap)
-        } else {
-          val subcomponentName = subcomponentType.className
-          val componentName = component.type.className
-          errorReporter.reportError("Subcomponent $subcomponentName of component $componentName not found")
-        }
-      }
-    }
-  }
-
-  private fun validateNoDependencyDuplicates(
-    component: Component,
-    dependencyTypeToModuleMap: Map<Dependency, List<Type.Object>>
-  ) {
-    val newDependencyTypeToModuleMap = HashMap(dependencyTypeToModuleMap)
-    component.getModulesWithDescendants().forEach { module ->
-      module.providers.forEach { provider ->
-        val oldModules = newDependencyTypeToModuleMap[provider.dependency]
-        val newModules = if (oldModules == null) listOf(module.type) else oldModules + listOf(module.type)
-        newDependencyTypeToModuleMap[provider.dependency] = newModules
-      }
-    }
-
-    if (component.subcomponents.isEmpty()) {
-      // FIXME: This code will report duplicate errors in some cases.
-      newDependencyTypeToModuleMap.forEach { (dependency, moduleTypes) ->
-        if (moduleTypes.size > 1) {
-          val moduleNames = moduleTypes.joinToString { it.className }
-          errorReporter.reportError(
-            "Dependency $dependency provided multiple times in a single component hierarchy by modules: $moduleNames"
-          )
-        }
-      }
-    } else {
-      component.subcomponents.forEach { subcomponentType ->
-        val subcomponent = context.findComponentByType(subcomponentType)
-        if (subcomponent != null) {
-          validateNoDependencyDuplicates(subcomponent, newDependencyTypeToModuleMap)
-        } else {
-          val subcomponentName = subcomponentType.className
-          val componentName = component.type.className
-          errorReporter.reportError("Subcomponent $subcomponentName of component $componentName not found")
-        }
-      }
-    }
-  }
-
-  private fun validateDependenciesAreResolved(component: Component, resolver: DependencyResolver) {
-    resolver.add(component, includeAncestors = true)
-    val unresolvedDependencies = resolver.getUnresolvedDependenciesAndResolveAllDependencies()
-    if (unresolvedDependencies.isNotEmpty()) {
-      val componentName = component.type.className
-      for (unresolvedDependency in unresolvedDependencies) {
-        errorReporter.reportError("Unresolved dependency $unresolvedDependency in component $componentName")
-      }
-    }
-  }
-
-  private fun validateNoDependencyCycles(component: Component, builder: DependencyGraphBuilder) {
-    builder.add(component)
-    val dependencyGraph = builder.build()
-    val cycles = dependencyGraph.findCycles()
-    if (cycles.isNotEmpty()) {
-      val componentName = component.type.className
-      for (cycle in cycles) {
-        val cycleString = cycle.joinToString(" -> ")
-        errorReporter.reportError("Dependency cycle $cycleString in component $componentName")
-      }
+  private fun validateComponentsInParallel() {
+    // Component hierarchies are traversed on this thread, which only checks for duplicates. The remaining checks of
+    // every component are run on the executor. The errors are merged in the order of a sequential pre-order traversal
+    // of the hierarchies, so they don't depend on scheduling. Components that are a part of a cycle aren't reachable
+    // from any root and are only reported as a cycle.
+    val rootComponents = context.components.filter { component ->
+      component.parent == null || context.findComponentByType(component.parent) == null
     }
-  }
-
-  private fun validateFactories(component: Component, resolver: DependencyResolver) {
-    resolver.add(component, includeAncestors = true)
-    component.getModulesWithDescendants()
-      .flatMap { module -> module.factories.asSequence() }
-      .distinctBy { factory -> factory.type }
-      .forEach { factory ->
-        for (provisionPoint in factory.provisionPoints) {
-          val injectees = provisionPoint.injectionPoint.injectees
-          val resolvedDependencies = resolver.getResolvedDependencies()
-          for (injectee in injectees) {
-            val shouldBeResolved = shouldFactoryInjecteeBeResolved(injectee)
-            validateFactoryDependency(component, factory, injectee.dependency, resolvedDependencies, shouldBeResolved)
-          }
-        }
+    val executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors())
+    try {
+      val futures = rootComponents.flatMap { component ->
+        ComponentHierarchyValidator(context, executor).validate(component)
       }
-  }
 
-  private fun shouldFactoryInjecteeBeResolved(injectee: FactoryInjectee): Boolean {
-    return when (injectee) {
-      is FactoryInjectee.FromInjector -> true
-      is FactoryInjectee.FromMethod -> false
-    }
-  }
-
-  private fun validateFactoryDependency(
-    component: Component,
-    factory: Factory,
-    dependency: Dependency,
-    resolvedDependencies: Set<Dependency>,
-    shouldBeResolved: Boolean
-  ) {
-    val isResolved = dependency.boxed() in resolvedDependencies
-    if (!isResolved && shouldBeResolved) {
-      val factoryName = factory.type.className
-      val componentName = component.type.className
-      errorReporter.reportError("Unresolved dependency $dependency in factory $factoryName in component $componentName")
+      futures.forEach { errorReporter.reportErrors(it.getOrRethrow()) }
+    } finally {
+      executor.shutdownNow()
     }
   }
 
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2020 Michael Rozumyanskiy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.michaelrocks.lightsaber.processor.generation
+
+import com.nhaarman.mockitokotlin2.any
+import com.nhaarman.mockitokotlin2.doAnswer
+import com.nhaarman.mockitokotlin2.doReturn
+import com.nhaarman.mockitokotlin2.mock
+import io.michaelrocks.grip.ClassRegistry
+import io.michaelrocks.grip.FileRegistry
+import io.michaelrocks.grip.mirrors.ClassMirror
+import io.michaelrocks.grip.mirrors.Type
+import io.michaelrocks.grip.mirrors.getObjectTypeByInternalName
+import io.michaelrocks.grip.mirrors.signature.GenericType
+import io.michaelrocks.lightsaber.processor.generation.model.GenerationContext
+import io.michaelrocks.lightsaber.processor.model.Component
+import io.michaelrocks.lightsaber.processor.model.Dependency
+import io.michaelrocks.lightsaber.processor.model.InjectionContext
+import io.michaelrocks.lightsaber.processor.model.Module
+import io.michaelrocks.lightsaber.processor.model.Provider
+import io.michaelrocks.lightsaber.processor.model.ProvisionPoint
+import io.michaelrocks.lightsaber.processor.model.Scope
+import org.junit.Assert.assertEquals
+import org.junit.Test
+import org.objectweb.asm.Opcodes
+
+class GenerationContextFactoryTest {
+
+  @Test
+  fun testKeysAreSplitBetweenHolders() {
+    val dependencies = createDependencies(70)
+    val keyRegistry = createGenerationContext(dependencies).keyRegistry
+
+    assertEquals(
+      listOf(HOLDER_NAME + "0", HOLDER_NAME + "1", HOLDER_NAME + "2"),
+      keyRegistry.holders.map { it.type.internalName }
+    )
+    assertEquals(listOf(32, 32, 6), keyRegistry.holders.map { it.keys.size })
+    assertEquals(dependencies.toSet(), keyRegistry.keys.keys)
+    keyRegistry.holders.forEach { holder ->
+      assertEquals(holder.keys.size, holder.keys.values.map { it.field.name }.toSet().size)
+      holder.keys.values.forEach { assertEquals(holder.type, it.holderType) }
+    }
+  }
+
+  @Test
+  fun testHolderNamesDontCollideWithExistingClasses() {
+    val existingTypes = setOf(getObjectTypeByInternalName(HOLDER_NAME + "1"))
+    val keyRegistry = createGenerationContext(createDependencies(11 * 32 + 1), existingTypes).keyRegistry
+    val holderNames = keyRegistry.holders.map { it.type.internalName }
+
+    assertEquals(12, holderNames.size)
+    assertEquals(holderNames.size, holderNames.toSet().size)
+    assertEquals(HOLDER_NAME + "1\$0", holderNames[1])
+    assertEquals(HOLDER_NAME + "10", holderNames[10])
+  }
+
+  private fun createDependencies(count: Int): List<Dependency> {
+    return (0 until count).map { index ->
+      val argumentType = GenericType.Raw(getObjectTypeByInternalName("test/Dependency$index"))
+      Dependency(GenericType.Parameterized(LIST_TYPE, listOf(argumentType)))
+    }
+  }
+
+  private fun createGenerationContext(
+    dependencies: List<Dependency>,
+    existingTypes: Set<Type.Object> = emptySet()
+  ): GenerationContext {
+    val moduleType = getObjectTypeByInternalName("test/Component")
+    val providers = dependencies.mapIndexed { index, dependency ->
+      val provisionPoint = ProvisionPoint.Binding(moduleType, dependency, dependency)
+      Provider(getObjectTypeByInternalName("test/Provider$index"), provisionPoint, moduleType, Scope.None)
+    }
+    val module = Module(moduleType, emptyList(), providers, emptyList(), emptyList())
+    val component = Component(moduleType, null, module, emptyList())
+    val context = InjectionContext(listOf(component), emptyList(), emptyList(), emptyList(), emptyList(), emptyList())
+
+    val fileRegistry = mock<FileRegistry> {
+      on { contains(any<Type.Object>()) } doAnswer { it.arguments[0] in existingTypes }
+    }
+    val publicClassMirror = mock<ClassMirror> {
+      on { access } doReturn Opcodes.ACC_PUBLIC
+    }
+    val classRegistry = mock<ClassRegistry> {
+      on { getClassMirror(any()) } doReturn publicClassMirror
+    }
+    return GenerationContextFactory(fileRegistry, classRegistry, PROJECT_NAME).createGenerationContext(context)
+  }
+
+  companion object {
+    private const val PROJECT_NAME = "project"
+    private const val HOLDER_NAME = "io/michaelrocks/lightsaber/KeyRegistry\$$PROJECT_NAME\$"
+
+    private val LIST_TYPE = getObjectTypeByInternalName("java/util/List")
+  }
+}
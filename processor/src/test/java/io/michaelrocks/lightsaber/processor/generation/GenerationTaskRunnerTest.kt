@@ -0,0 +1,103 @@
+/*
+ * Copyright 2020 Michael Rozumyanskiy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.michaelrocks.lightsaber.processor.generation
+
+import org.junit.After
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertSame
+import org.junit.Assert.fail
+import org.junit.Test
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executors
+import java.util.concurrent.atomic.AtomicInteger
+
+class GenerationTaskRunnerTest {
+  private val executor = Executors.newFixedThreadPool(4)
+
+  @After
+  fun tearDown() {
+    executor.shutdownNow()
+  }
+
+  @Test
+  fun testAwaitAllWaitsForAllTasks() {
+    val runner = GenerationTaskRunner(executor)
+    val counter = AtomicInteger()
+
+    repeat(100) {
+      runner.submit { counter.incrementAndGet() }
+    }
+    runner.awaitAll()
+
+    assertEquals(100, counter.get())
+  }
+
+  @Test
+  fun testAwaitAllWaitsForNestedTasks() {
+    val runner = GenerationTaskRunner(executor)
+    val counter = AtomicInteger()
+    val outerTaskStarted = CountDownLatch(1)
+
+    runner.submit {
+      outerTaskStarted.await()
+      runner.submit {
+        runner.submit {
+          // The innermost task completes long after the tasks that submitted it.
+          Thread.sleep(100)
+          counter.incrementAndGet()
+        }
+        counter.incrementAndGet()
+      }
+      counter.incrementAndGet()
+    }
+    outerTaskStarted.countDown()
+    runner.awaitAll()
+
+    assertEquals(3, counter.get())
+  }
+
+  @Test
+  fun testFailureIsRethrown() {
+    val runner = GenerationTaskRunner(executor)
+    val exception = IllegalStateException("Failure")
+
+    runner.submit { }
+    runner.submit { throw exception }
+    try {
+      runner.awaitAll()
+      fail("IllegalStateException expected")
+    } catch (actualException: IllegalStateException) {
+      assertSame(exception, actualException)
+    }
+  }
+
+  @Test
+  fun testFailureOfNestedTaskIsRethrown() {
+    val runner = GenerationTaskRunner(executor)
+    val exception = IllegalStateException("Failure")
+
+    runner.submit {
+      runner.submit { throw exception }
+    }
+    try {
+      runner.awaitAll()
+      fail("IllegalStateException expected")
+    } catch (actualException: IllegalStateException) {
+      assertSame(exception, actualException)
+    }
+  }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2020 Michael Rozumyanskiy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.michaelrocks.lightsaber.processor.generation
+
+import com.nhaarman.mockitokotlin2.mock
+import io.michaelrocks.grip.mirrors.Type
+import io.michaelrocks.grip.mirrors.getObjectTypeByInternalName
+import io.michaelrocks.lightsaber.processor.annotations.proxy.ArrayClassLoader
+import io.michaelrocks.lightsaber.processor.commons.Types
+import io.michaelrocks.lightsaber.processor.descriptors.MethodDescriptor
+import io.michaelrocks.lightsaber.processor.generation.model.PackageInvader
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertSame
+import org.junit.Assert.assertTrue
+import org.junit.Assert.fail
+import org.junit.Assume.assumeTrue
+import org.junit.Test
+import org.objectweb.asm.ClassWriter
+import org.objectweb.asm.Opcodes.ACC_PUBLIC
+import org.objectweb.asm.Opcodes.ACC_SUPER
+import org.objectweb.asm.Opcodes.V11
+import org.objectweb.asm.Opcodes.V1_6
+import java.lang.reflect.InvocationTargetException
+import java.lang.reflect.Method
+import java.lang.reflect.Modifier
+
+class PackageInvaderClassGeneratorTest {
+
+  @Test
+  fun testPackageInvader() {
+    val methods = loadPackageInvaderMethods(10, V1_6)
+    assertEquals(10, methods.size)
+    methods.forEach { assertEquals(Modifier.PUBLIC or Modifier.STATIC, it.modifiers) }
+  }
+
+  @Test
+  fun testPackageInvaderForJava11() {
+    assumeTrue(JAVA_SPECIFICATION_VERSION >= 11)
+    assertEquals(10, loadPackageInvaderMethods(10, V11).size)
+  }
+
+  @Test
+  fun testClassesAreLoadedOnDemand() {
+    val classLoader = ArrayClassLoader(javaClass.classLoader)
+    val loadableType = getObjectTypeByInternalName("test/LoadableType")
+    val missingType = getObjectTypeByInternalName("test/MissingType")
+    classLoader.addClass(loadableType.className, generateEmptyClass(loadableType))
+    val packageInvaderClass = loadPackageInvaderClass(classLoader, listOf(loadableType, missingType), V1_6)
+
+    assertSame(classLoader.loadClass(loadableType.className), packageInvaderClass.getMethod("class0").invoke(null))
+    try {
+      packageInvaderClass.getMethod("class1").invoke(null)
+      fail("NoClassDefFoundError expected")
+    } catch (exception: InvocationTargetException) {
+      assertTrue(exception.targetException is NoClassDefFoundError)
+    }
+  }
+
+  private fun loadPackageInvaderMethods(methodCount: Int, classVersion: Int): List<Method> {
+    val classLoader = ArrayClassLoader(javaClass.classLoader)
+    val types = List(methodCount) { index -> getObjectTypeByInternalName("test/Type$index") }
+    types.forEach { classLoader.addClass(it.className, generateEmptyClass(it)) }
+
+    val packageInvaderClass = loadPackageInvaderClass(classLoader, types, classVersion)
+    return types.mapIndexed { index, type ->
+      val method = packageInvaderClass.getMethod("class$index")
+      assertSame(classLoader.loadClass(type.className), method.invoke(null))
+      method
+    }
+  }
+
+  private fun loadPackageInvaderClass(
+    classLoader: ArrayClassLoader,
+    types: List<Type.Object>,
+    classVersion: Int
+  ): Class<*> {
+    val methods = types.withIndex().associate { (index, type) ->
+      type as Type to MethodDescriptor.forMethod("class$index", Types.CLASS_TYPE)
+    }
+    val packageInvader = PackageInvader(getObjectTypeByInternalName("test/PackageInvader"), "test", methods)
+    val generator = PackageInvaderClassGenerator(mock(), packageInvader, classVersion)
+    classLoader.addClass(packageInvader.type.className, generator.generate())
+    // Initializing the package invader mustn't load any of the classes it returns.
+    return Class.forName(packageInvader.type.className, true, classLoader)
+  }
+
+  private fun generateEmptyClass(type: Type.Object): ByteArray {
+    val classWriter = ClassWriter(0)
+    classWriter.visit(V1_6, ACC_PUBLIC or ACC_SUPER, type.internalName, null, Types.OBJECT_TYPE.internalName, null)
+    classWriter.visitEnd()
+    return classWriter.toByteArray()
+  }
+
+  companion object {
+    private val JAVA_SPECIFICATION_VERSION = System.getProperty("java.specification.version").substringAfter("1.").toInt()
+  }
+}
@@ -73,10 +73,42 @@ class CycleSearcherTest {
     graph.put(3, 2)
     graph.put(2, 4)
     graph.put(4, 2)
-    val cycles = graph.findCycles().toList()
-    assertEquals(2, cycles.size)
-    assertEquals(3, cycles[0].size)
-    assertEquals(3, cycles[1].size)
+    val cycles = graph.findCycles()
+    assertEquals(1, cycles.size)
+    assertEquals(3, cycles.first().size)
+  }
+
+  @Test
+  fun testSelfLoop() {
+    val graph = HashDirectedGraph<Int>()
+    graph.put(1, 2)
+    graph.put(2, 2)
+    val cycles = graph.findCycles()
+    assertEquals(listOf(listOf(2, 2)), cycles.toList())
+  }
+
+  @Test
+  fun testShortestCycleThroughStartVertex() {
+    val graph = HashDirectedGraph<Int>()
+    graph.put(1, 2)
+    graph.put(2, 3)
+    graph.put(3, 4)
+    graph.put(4, 1)
+    graph.put(2, 1)
+    val cycles = graph.findCycles()
+    assertEquals(listOf(listOf(1, 2, 1)), cycles.toList())
+  }
+
+  @Test
+  fun testLongCycle() {
+    val graph = HashDirectedGraph<Int>()
+    val size = 100000
+    for (vertex in 0 until size) {
+      graph.put(vertex, (vertex + 1) % size)
+    }
+    val cycles = graph.findCycles()
+    assertEquals(1, cycles.size)
+    assertEquals(size + 1, cycles.first().size)
   }
 
   @Test
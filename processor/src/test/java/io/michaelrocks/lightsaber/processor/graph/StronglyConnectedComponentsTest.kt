@@ -0,0 +1,67 @@
+/*
+ * Copyright 2020 Michael Rozumyanskiy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.michaelrocks.lightsaber.processor.graph
+
+import org.junit.Assert.assertEquals
+import org.junit.Test
+
+class StronglyConnectedComponentsTest {
+  @Test
+  fun testAcyclicGraph() {
+    val graph = HashDirectedGraph<Int>()
+    graph.put(1, 2)
+    graph.put(2, 3)
+    val components = graph.findStronglyConnectedComponents()
+    assertEquals(listOf(listOf(3), listOf(2), listOf(1)), components)
+  }
+
+  @Test
+  fun testComponentsInReverseTopologicalOrder() {
+    val graph = HashDirectedGraph<Int>()
+    graph.put(1, 2)
+    graph.put(2, 1)
+    graph.put(2, 3)
+    graph.put(3, 4)
+    graph.put(4, 3)
+    val components = graph.findStronglyConnectedComponents()
+    assertEquals(listOf(setOf(3, 4), setOf(1, 2)), components.map { it.toSet() })
+  }
+
+  @Test
+  fun testVertexWithoutOutgoingEdges() {
+    val graph = object : DirectedGraph<Int> {
+      override val vertices = listOf(1)
+      override fun getAdjacentVertices(vertex: Int) = if (vertex == 1) listOf(2) else null
+      override fun asMap() = mapOf(1 to listOf(2))
+    }
+    val components = graph.findStronglyConnectedComponents()
+    assertEquals(listOf(listOf(2), listOf(1)), components)
+  }
+
+  @Test
+  fun testDeepGraph() {
+    val graph = HashDirectedGraph<Int>()
+    val size = 100000
+    for (vertex in 0 until size - 1) {
+      graph.put(vertex, vertex + 1)
+    }
+    graph.put(size - 1, size / 2)
+    val components = graph.findStronglyConnectedComponents()
+    assertEquals(size / 2 + 1, components.size)
+    assertEquals(size / 2, components.first().size)
+  }
+}
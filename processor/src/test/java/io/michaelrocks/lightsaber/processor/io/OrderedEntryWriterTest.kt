@@ -0,0 +1,105 @@
+/*
+ * Copyright 2020 Michael Rozumyanskiy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.michaelrocks.lightsaber.processor.io
+
+import com.nhaarman.mockitokotlin2.any
+import com.nhaarman.mockitokotlin2.doReturn
+import com.nhaarman.mockitokotlin2.inOrder
+import com.nhaarman.mockitokotlin2.mock
+import com.nhaarman.mockitokotlin2.never
+import com.nhaarman.mockitokotlin2.verify
+import com.nhaarman.mockitokotlin2.verifyNoMoreInteractions
+import org.junit.Assert.assertSame
+import org.junit.Assert.fail
+import org.junit.Test
+import java.io.ByteArrayInputStream
+import java.util.concurrent.FutureTask
+
+class OrderedEntryWriterTest {
+
+  @Test
+  fun testEntriesAreWrittenInOrderOfAddition() {
+    val fileSink = mock<FileSink>()
+    val input = ByteArrayInputStream(ByteArray(0))
+    val fileSource = mock<FileSource> {
+      on { openFile("resource") } doReturn input
+    }
+    val writer = OrderedEntryWriter(fileSink, 10)
+    val class1 = FutureTask { CLASS_DATA_1 }
+    val class2 = FutureTask { CLASS_DATA_2 }
+
+    writer.addDirectory("directory")
+    writer.addFile("class1", class1)
+    writer.addFile("resource", fileSource)
+    writer.addFile("class2", class2)
+    writer.addFile("class3", CLASS_DATA_3)
+    // The classes are computed in the reverse order.
+    class2.run()
+    class1.run()
+    writer.flush()
+
+    inOrder(fileSink) {
+      verify(fileSink).createDirectory("directory")
+      verify(fileSink).createFile("class1", CLASS_DATA_1)
+      verify(fileSink).createFile("resource", input)
+      verify(fileSink).createFile("class2", CLASS_DATA_2)
+      verify(fileSink).createFile("class3", CLASS_DATA_3)
+      verify(fileSink).flush()
+    }
+    verifyNoMoreInteractions(fileSink)
+  }
+
+  @Test
+  fun testOldestEntryIsWrittenWhenLimitIsExceeded() {
+    val fileSink = mock<FileSink>()
+    val writer = OrderedEntryWriter(fileSink, 2)
+    val class1 = FutureTask { CLASS_DATA_1 }.apply { run() }
+
+    writer.addFile("class1", class1)
+    writer.addDirectory("directory1")
+    verify(fileSink, never()).createFile(any(), any<ByteArray>())
+
+    writer.addDirectory("directory2")
+    verify(fileSink).createFile("class1", CLASS_DATA_1)
+    verify(fileSink, never()).createDirectory(any())
+  }
+
+  @Test
+  fun testFailureIsRethrown() {
+    val fileSink = mock<FileSink>()
+    val writer = OrderedEntryWriter(fileSink, 10)
+    val exception = IllegalStateException("Failure")
+    val class1 = FutureTask<ByteArray> { throw exception }.apply { run() }
+
+    writer.addFile("class1", class1)
+    writer.addDirectory("directory")
+    try {
+      writer.flush()
+      fail("IllegalStateException expected")
+    } catch (actualException: IllegalStateException) {
+      assertSame(exception, actualException)
+    }
+
+    verifyNoMoreInteractions(fileSink)
+  }
+
+  companion object {
+    private val CLASS_DATA_1 = byteArrayOf(1)
+    private val CLASS_DATA_2 = byteArrayOf(2)
+    private val CLASS_DATA_3 = byteArrayOf(3)
+  }
+}
@@ -0,0 +1,245 @@
+/*
+ * Copyright 2020 Michael Rozumyanskiy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.michaelrocks.lightsaber.processor.validation
+
+import com.nhaarman.mockitokotlin2.any
+import com.nhaarman.mockitokotlin2.doReturn
+import com.nhaarman.mockitokotlin2.mock
+import io.michaelrocks.grip.ClassRegistry
+import io.michaelrocks.grip.mirrors.ClassMirror
+import io.michaelrocks.grip.mirrors.Type
+import io.michaelrocks.grip.mirrors.getObjectTypeByInternalName
+import io.michaelrocks.grip.mirrors.signature.GenericType
+import io.michaelrocks.lightsaber.processor.ErrorReporter
+import io.michaelrocks.lightsaber.processor.commons.Types
+import io.michaelrocks.lightsaber.processor.model.Component
+import io.michaelrocks.lightsaber.processor.model.Dependency
+import io.michaelrocks.lightsaber.processor.model.Factory
+import io.michaelrocks.lightsaber.processor.model.InjectionContext
+import io.michaelrocks.lightsaber.processor.model.Module
+import io.michaelrocks.lightsaber.processor.model.ModuleProvider
+import io.michaelrocks.lightsaber.processor.model.ModuleProvisionPoint
+import io.michaelrocks.lightsaber.processor.model.Provider
+import io.michaelrocks.lightsaber.processor.model.ProvisionPoint
+import io.michaelrocks.lightsaber.processor.model.Scope
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertSame
+import org.junit.Assert.fail
+import org.junit.Test
+
+class ValidatorTest {
+
+  @Test
+  fun testErrorsAreMergedInOrderOfComponents() {
+    val components = (0 until 64).map { index ->
+      newComponent("Component$index", newProvider("Component$index", "Dependency$index", "Missing$index"))
+    }
+
+    val errors = validate(components)
+
+    val expectedErrors = (0 until 64).map { index ->
+      "Unresolved dependency ${newDependency("Missing$index")} in component test.Component$index"
+    }
+    assertEquals(expectedErrors, errors)
+  }
+
+  @Test
+  fun testFailureIsRethrown() {
+    val exception = IllegalStateException("Failure")
+    val failingFactories = object : AbstractCollection<Factory>() {
+      override val size: Int get() = 1
+      override fun iterator(): Iterator<Factory> = throw exception
+    }
+    val componentType = newType("Component")
+    val module = Module(componentType, emptyList(), emptyList(), failingFactories, emptyList())
+    val component = Component(componentType, null, module, emptyList())
+
+    try {
+      validate(listOf(newComponent("Valid"), component))
+      fail("IllegalStateException expected")
+    } catch (actualException: IllegalStateException) {
+      assertSame(exception, actualException)
+    }
+  }
+
+  @Test
+  fun testDuplicateModuleInHierarchy() {
+    val sharedModule = newModule("Shared")
+    val parent = newComponent("Parent", subcomponents = listOf("Child"), importedModules = listOf(sharedModule))
+    val child = newComponent("Child", parent = "Parent", importedModules = listOf(sharedModule))
+
+    val errors = validate(listOf(parent, child))
+
+    assertEquals(
+      listOf("Module test.Shared provided multiple times in a single component hierarchy: test.Parent, test.Child"),
+      errors
+    )
+  }
+
+  @Test
+  fun testDuplicateDependencyInHierarchy() {
+    val parent = newComponent("Parent", newProvider("Parent", "Foo"), subcomponents = listOf("Child"))
+    val child = newComponent("Child", newProvider("Child", "Foo"), parent = "Parent")
+
+    val errors = validate(listOf(parent, child))
+
+    assertEquals(
+      listOf(
+        "Dependency ${newDependency("Foo")} provided multiple times in a single component hierarchy by modules: " +
+            "test.Parent, test.Child"
+      ),
+      errors
+    )
+  }
+
+  @Test
+  fun testUnresolvedDependency() {
+    val component = newComponent("Component", newProvider("Component", "Foo", "Bar"))
+
+    val errors = validate(listOf(component))
+
+    assertEquals(listOf("Unresolved dependency ${newDependency("Bar")} in component test.Component"), errors)
+  }
+
+  @Test
+  fun testDependencyFromParentIsResolved() {
+    val parent = newComponent("Parent", newProvider("Parent", "Foo"), subcomponents = listOf("Child"))
+    val child = newComponent("Child", newProvider("Child", "Bar", "Foo"), parent = "Parent")
+
+    val errors = validate(listOf(parent, child))
+
+    assertEquals(emptyList<String>(), errors)
+  }
+
+  @Test
+  fun testDeepHierarchy() {
+    val depth = 256
+    val components = (0 until depth).map { index ->
+      val requiredDependencyName = if (index == 0) null else "Dependency${index - 1}"
+      newComponent(
+        "Component$index",
+        newProvider("Component$index", "Dependency$index", requiredDependencyName),
+        parent = if (index == 0) null else "Component${index - 1}",
+        subcomponents = listOf(if (index == depth - 1) "Leaf" else "Component${index + 1}")
+      )
+    }
+    val leaf = newComponent("Leaf", newProvider("Leaf", "LeafDependency", "Missing"), parent = "Component${depth - 1}")
+
+    val errors = validate(components + leaf)
+
+    assertEquals(listOf("Unresolved dependency ${newDependency("Missing")} in component test.Leaf"), errors)
+  }
+
+  @Test
+  fun testInheritedStateIsRolledBackForSiblings() {
+    val sharedModule = newModule("Shared")
+    val parent = newComponent("Parent", subcomponents = listOf("First", "Second"))
+    val first = newComponent(
+      "First",
+      newProvider("First", "Foo"),
+      newProvider("First", "Bar"),
+      parent = "Parent",
+      importedModules = listOf(sharedModule)
+    )
+    val second = newComponent(
+      "Second",
+      newProvider("Second", "Foo"),
+      newProvider("Second", "Baz", "Bar"),
+      parent = "Parent",
+      importedModules = listOf(sharedModule)
+    )
+
+    val errors = validate(listOf(parent, first, second))
+
+    assertEquals(listOf("Unresolved dependency ${newDependency("Bar")} in component test.Second"), errors)
+  }
+
+  @Test
+  fun testErrorsAreMergedInOrderOfComponentsInHierarchy() {
+    val subcomponentNames = (0 until 64).map { index -> "Child$index" }
+    val parent = newComponent("Parent", newProvider("Parent", "Foo", "ParentMissing"), subcomponents = subcomponentNames)
+    val children = subcomponentNames.map { name ->
+      newComponent(name, newProvider(name, "Foo", "${name}Missing"), parent = "Parent")
+    }
+
+    val errors = validate(listOf(parent) + children)
+
+    val expectedErrors = ArrayList<String>()
+    expectedErrors += "Unresolved dependency ${newDependency("ParentMissing")} in component test.Parent"
+    subcomponentNames.forEach { name ->
+      expectedErrors += "Dependency ${newDependency("Foo")} provided multiple times in a single component hierarchy " +
+          "by modules: test.Parent, test.$name"
+      expectedErrors += "Unresolved dependency ${newDependency("${name}Missing")} in component test.$name"
+    }
+    assertEquals(expectedErrors, errors)
+  }
+
+  private fun validate(components: List<Component>): List<String> {
+    val context = InjectionContext(components, emptyList(), emptyList(), emptyList(), emptyList(), emptyList())
+    val objectMirror = mock<ClassMirror> {
+      on { superType } doReturn Types.OBJECT_TYPE
+    }
+    val classRegistry = mock<ClassRegistry> {
+      on { getClassMirror(any()) } doReturn objectMirror
+    }
+    val errorReporter = ErrorReporter()
+    Validator(classRegistry, errorReporter, context).validate()
+    return errorReporter.getErrors().map { it.message.orEmpty() }
+  }
+
+  private fun newComponent(
+    name: String,
+    vararg providers: Provider,
+    parent: String? = null,
+    subcomponents: List<String> = emptyList(),
+    importedModules: List<Module> = emptyList()
+  ): Component {
+    val type = newType(name)
+    val moduleProviders = importedModules.map { ModuleProvider(it, ModuleProvisionPoint.Method(mock())) }
+    val module = Module(type, moduleProviders, providers.toList(), emptyList(), emptyList())
+    return Component(type, parent?.let { newType(it) }, module, subcomponents.map { newType(it) })
+  }
+
+  private fun newModule(name: String, vararg providers: Provider): Module {
+    return Module(newType(name), emptyList(), providers.toList(), emptyList(), emptyList())
+  }
+
+  private fun newProvider(
+    moduleName: String,
+    dependencyName: String,
+    requiredDependencyName: String? = null
+  ): Provider {
+    val moduleType = newType(moduleName)
+    val dependency = newDependency(dependencyName)
+    // A binding provision point has exactly one injectee, so it models a provider with a single dependency.
+    val requiredDependency = requiredDependencyName?.let { newDependency(it) } ?: INJECTOR_DEPENDENCY
+    val provisionPoint = ProvisionPoint.Binding(moduleType, dependency, requiredDependency)
+    return Provider(newType("$moduleName\$Provider\$$dependencyName"), provisionPoint, moduleType, Scope.None)
+  }
+
+  private fun newDependency(name: String): Dependency {
+    return Dependency(GenericType.Raw(newType(name)))
+  }
+
+  private fun newType(name: String): Type.Object {
+    return getObjectTypeByInternalName("test/$name")
+  }
+
+  companion object {
+    private val INJECTOR_DEPENDENCY = Dependency(GenericType.Raw(Types.INJECTOR_TYPE))
+  }
+}
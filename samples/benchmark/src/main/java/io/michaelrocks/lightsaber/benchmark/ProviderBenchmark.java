@@ -0,0 +1,72 @@
+/*
+ * Copyright 2020 Michael Rozumyanskiy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.michaelrocks.lightsaber.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import javax.inject.Provider;
+
+import io.michaelrocks.lightsaber.Injector;
+import io.michaelrocks.lightsaber.Lightsaber;
+
+/**
+ * Measures the cost of getting instances from generated providers. Unscoped providers should perform close to the
+ * hand-written {@link #createService()} baseline when their get() methods are inlined into the caller.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProviderBenchmark {
+  private Provider<Service> serviceProvider;
+  private Provider<SingletonService> singletonServiceProvider;
+
+  @Setup
+  public void setUp() {
+    final Injector injector = new Lightsaber.Builder().build().createInjector(new BenchmarkComponent());
+    serviceProvider = injector.getProvider(Service.class);
+    singletonServiceProvider = injector.getProvider(SingletonService.class);
+  }
+
+  @Benchmark
+  public Service createService() {
+    return new Service(new Repository(new BenchmarkModule().provideName()));
+  }
+
+  @Benchmark
+  public Service getService() {
+    return serviceProvider.get();
+  }
+
+  @Benchmark
+  public SingletonService getSingletonService() {
+    return singletonServiceProvider.get();
+  }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2020 Michael Rozumyanskiy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.michaelrocks.lightsaber
+
+import org.junit.Assert.assertEquals
+import org.junit.Test
+import javax.inject.Inject
+
+class AddModuleInjectionTest {
+
+  @Test
+  fun testModuleAddedToChildInjectorDoesNotAffectParentProviders() {
+    assertModuleAddedToChildInjectorDoesNotAffectParentProviders(Lightsaber.Builder().build())
+  }
+
+  @Test
+  fun testModuleAddedToChildInjectorDoesNotAffectParentProvidersWithoutInlining() {
+    // An interceptor disables inlining of constructors into generated providers.
+    val lightsaber = Lightsaber.Builder()
+      .addProviderInterceptor(ProviderInterceptor { chain, key -> chain.proceed(key) })
+      .build()
+    assertModuleAddedToChildInjectorDoesNotAffectParentProviders(lightsaber)
+  }
+
+  private fun assertModuleAddedToChildInjectorDoesNotAffectParentProviders(lightsaber: Lightsaber) {
+    val parentInjector = lightsaber.createInjector(ParentComponent())
+    val childInjector = parentInjector.createChildInjector(ChildComponent())
+
+    Lightsaber.addModule(childInjector, AddedModule())
+
+    assertEquals("Added", childInjector.getInstance<Dependency>().name)
+    // Providers of the parent injector resolve their dependencies in the parent injector whether they're inlined or not.
+    assertEquals("Constructed", childInjector.getInstance<Consumer>().dependency.name)
+    assertEquals("Constructed", parentInjector.getInstance<Consumer>().dependency.name)
+  }
+
+  @Module
+  private class ParentModule {
+
+    @Provide
+    fun provideConsumer(dependency: Dependency): Consumer = Consumer(dependency)
+  }
+
+  @Module
+  private class AddedModule {
+
+    @Provide
+    fun provideDependency(): Dependency = Dependency("Added")
+  }
+
+  @Component
+  private class ParentComponent {
+
+    @Import
+    private fun importParentModule(): ParentModule = ParentModule()
+  }
+
+  @Component(parent = ParentComponent::class)
+  private class ChildComponent
+
+  @Component
+  private class AddedModuleComponent {
+
+    @Import
+    private fun importAddedModule(): AddedModule = AddedModule()
+  }
+
+  @ProvidedBy(ParentModule::class)
+  class Dependency @Inject constructor() {
+    var name = "Constructed"
+      private set
+
+    constructor(name: String) : this() {
+      this.name = name
+    }
+  }
+
+  class Consumer(val dependency: Dependency)
+}
@@ -0,0 +1,186 @@
+/*
+ * Copyright 2020 Michael Rozumyanskiy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.michaelrocks.lightsaber
+
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertNotSame
+import org.junit.Assert.assertSame
+import org.junit.Assert.fail
+import org.junit.Test
+import javax.inject.Inject
+import javax.inject.Named
+import javax.inject.Provider
+import javax.inject.Singleton
+
+class ComponentAccessorInjectionTest {
+
+  @Test
+  fun testAccessors() {
+    val injector = Lightsaber.Builder().build().createInjector(AccessorComponent("Accessor"))
+    val accessors = injector.getInstance<ParentAccessors>()
+
+    assertSame(injector, accessors.injector())
+    assertEquals("Accessor", accessors.string())
+    assertEquals(42, accessors.int())
+    assertSame(accessors.singleton(), accessors.singleton())
+    assertSame(accessors.singleton(), injector.getInstance<SingletonTarget>())
+    assertNotSame(accessors.target(), accessors.target())
+    assertNotSame(accessors.targetProvider().get(), accessors.targetProvider().get())
+    assertSame(accessors.singletonLazy().get(), accessors.singleton())
+  }
+
+  @Test
+  fun testAccessorsAreBoundToTheirInjector() {
+    val lightsaber = Lightsaber.Builder().build()
+    val component = AccessorComponent("Accessor")
+    val injector1 = lightsaber.createInjector(component)
+    val accessors1 = injector1.getInstance<ParentAccessors>()
+    val injector2 = lightsaber.createInjector(component)
+    val accessors2 = injector2.getInstance<ParentAccessors>()
+
+    assertSame(injector1, accessors1.injector())
+    assertSame(injector2, accessors2.injector())
+    assertSame(injector1.getInstance<SingletonTarget>(), accessors1.singleton())
+    assertSame(injector2.getInstance<SingletonTarget>(), accessors2.singleton())
+    assertNotSame(accessors1.singleton(), accessors2.singleton())
+  }
+
+  @Test
+  fun testAccessorsInChildInjector() {
+    val lightsaber = Lightsaber.Builder().build()
+    val parentInjector = lightsaber.createInjector(AccessorComponent("Parent"))
+    val childInjector = parentInjector.createChildInjector(ChildAccessorComponent())
+    val accessors = childInjector.getInstance<ChildAccessors>()
+
+    assertSame(childInjector, accessors.injector())
+    assertEquals("Parent", accessors.string())
+    assertEquals("Child", accessors.childString())
+    assertSame(parentInjector.getInstance<SingletonTarget>(), accessors.singleton())
+  }
+
+  @Test
+  fun testAccessorsFromDifferentComponentsAreIndependent() {
+    val lightsaber = Lightsaber.Builder().build()
+    val accessors1 = lightsaber.createInjector(AccessorComponent("First")).getInstance<ParentAccessors>()
+    val accessors2 = lightsaber.createInjector(AccessorComponent("Second")).getInstance<ParentAccessors>()
+
+    assertEquals("First", accessors1.string())
+    assertEquals("Second", accessors2.string())
+  }
+
+  @Test
+  fun testAccessorsWithInterceptedProvider() {
+    val named = ParentAccessors::class.java.getMethod("string").getAnnotation(Named::class.java)
+    val stringKey = Key.of(String::class.java, named)
+    val interceptor = object : ProviderInterceptor {
+      override fun intercept(chain: ProviderInterceptor.Chain, key: Key<*>): Provider<*> {
+        return if (key == stringKey) Provider { "Intercepted" } else chain.proceed(key)
+      }
+    }
+    val lightsaber = Lightsaber.Builder().addProviderInterceptor(interceptor).build()
+    val accessors = lightsaber.createInjector(AccessorComponent("Accessor")).getInstance<ParentAccessors>()
+
+    assertEquals("Intercepted", accessors.string())
+    assertEquals(42, accessors.int())
+  }
+
+  @Test
+  fun testAccessorsWithOverriddenProvider() {
+    val singleton = SingletonTarget()
+    val lightsaber = Lightsaber.Builder().overrideProvider(SingletonTarget::class.java, Provider { singleton }).build()
+    val accessors = lightsaber.createInjector(AccessorComponent("Accessor")).getInstance<ParentAccessors>()
+
+    assertSame(singleton, accessors.singleton())
+    assertEquals("Accessor", accessors.string())
+  }
+
+  @Test
+  fun testProvidedByInterfaceWithoutAccessorsIsNotImplemented() {
+    val injector = Lightsaber.Builder().build().createInjector(AccessorComponent("Accessor"))
+
+    try {
+      injector.getInstance<NotAccessors>()
+      fail("ConfigurationException expected")
+    } catch (exception: ConfigurationException) {
+      // Expected.
+    }
+  }
+
+  @Accessors
+  @ProvidedBy(AccessorComponent::class)
+  interface ParentAccessors {
+    fun injector(): Injector
+
+    @Named("Accessor")
+    fun string(): String
+
+    fun int(): Int
+
+    fun singleton(): SingletonTarget
+
+    fun target(): Target
+
+    fun targetProvider(): Provider<Target>
+
+    fun singletonLazy(): Lazy<SingletonTarget>
+  }
+
+  @Accessors
+  @ProvidedBy(ChildAccessorComponent::class)
+  interface ChildAccessors {
+    fun injector(): Injector
+
+    @Named("Accessor")
+    fun string(): String
+
+    @Named("Child")
+    fun childString(): String
+
+    fun singleton(): SingletonTarget
+  }
+
+  @ProvidedBy(AccessorComponent::class)
+  interface NotAccessors {
+    fun string(): String
+  }
+
+  @Component
+  class AccessorComponent(private val string: String) {
+
+    @Provide
+    @Named("Accessor")
+    private fun provideString() = string
+
+    @Provide
+    private fun provideInt() = 42
+  }
+
+  @Component(parent = AccessorComponent::class)
+  class ChildAccessorComponent {
+
+    @Provide
+    @Named("Child")
+    private fun provideChildString() = "Child"
+  }
+
+  @Singleton
+  @ProvidedBy(AccessorComponent::class)
+  class SingletonTarget @Inject constructor()
+
+  @ProvidedBy(AccessorComponent::class)
+  class Target @Inject constructor()
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2020 Michael Rozumyanskiy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.michaelrocks.lightsaber
+
+import io.michaelrocks.lightsaber.internal.LightsaberInjector
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertSame
+import org.junit.Test
+import java.util.concurrent.Callable
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+import javax.inject.Inject
+import javax.inject.Provider
+import javax.inject.Singleton
+
+class SingletonInjectionTest {
+
+  @Test(timeout = 10000)
+  fun testSingletonCreatedOnAnotherThreadDuringSingletonCreation() {
+    val executor = Executors.newSingleThreadExecutor()
+    val injector = Lightsaber.Builder().build().createInjector(SingletonComponent(executor))
+    try {
+      val outer = injector.getInstance<OuterSingleton>()
+      assertSame(outer, injector.getInstance<OuterSingleton>())
+      assertSame(outer.inner, injector.getInstance<InnerSingleton>())
+    } finally {
+      executor.shutdownNow()
+    }
+  }
+
+  @Test(timeout = 10000)
+  fun testSingletonIsCreatedOnce() {
+    val threadCount = 8
+    val executor = Executors.newFixedThreadPool(threadCount)
+    val injector = Lightsaber.Builder().build().createInjector(SingletonComponent(executor))
+    try {
+      val startLatch = CountDownLatch(1)
+      val futures = (0 until threadCount).map {
+        executor.submit(Callable {
+          startLatch.await()
+          injector.getInstance<InnerSingleton>()
+        })
+      }
+      startLatch.countDown()
+      val instances = futures.map { it.get(5, TimeUnit.SECONDS) }
+      instances.forEach { assertSame(instances[0], it) }
+    } finally {
+      executor.shutdownNow()
+    }
+  }
+
+  @Test
+  fun testOverriddenSingletonProvidersAreNotCreated() {
+    val constructed = ConstructedSingleton()
+    val provided = ProvidedSingleton()
+    val lightsaber = Lightsaber.Builder()
+      .overrideProvider(ConstructedSingleton::class.java, Provider { constructed })
+      .overrideProvider(ProvidedSingleton::class.java, Provider { provided })
+      .build()
+    val injector = lightsaber.createInjector(OverriddenSingletonComponent())
+
+    assertSame(constructed, injector.getInstance<ConstructedSingleton>())
+    assertSame(provided, injector.getInstance<ProvidedSingleton>())
+    // No slots have been allocated by the replaced providers.
+    assertEquals(0, (injector as LightsaberInjector).singletonStorage.allocateSlot())
+  }
+
+  @Component
+  private class SingletonComponent(private val executor: ExecutorService) {
+
+    @Provide
+    private fun provideExecutor(): ExecutorService = executor
+
+    @Import
+    private fun importSingletonModule(): SingletonModule = SingletonModule()
+  }
+
+  @Component
+  private class OverriddenSingletonComponent {
+
+    @Import
+    private fun importOverriddenSingletonModule(): OverriddenSingletonModule = OverriddenSingletonModule()
+  }
+
+  @Module
+  private class SingletonModule
+
+  @Module
+  private class OverriddenSingletonModule {
+
+    @Provide
+    @Singleton
+    private fun provideSingleton(): ProvidedSingleton = ProvidedSingleton()
+  }
+
+  @Singleton
+  @ProvidedBy(SingletonModule::class)
+  class InnerSingleton @Inject constructor()
+
+  @Singleton
+  @ProvidedBy(OverriddenSingletonModule::class)
+  class ConstructedSingleton @Inject constructor()
+
+  class ProvidedSingleton
+
+  @Singleton
+  @ProvidedBy(SingletonModule::class)
+  class OuterSingleton @Inject constructor(executor: ExecutorService, injector: Injector) {
+    // Resolves another singleton of the same injector on another thread while this singleton is being created.
+    val inner: InnerSingleton = executor.submit(Callable { injector.getInstance<InnerSingleton>() }).get()
+  }
+}
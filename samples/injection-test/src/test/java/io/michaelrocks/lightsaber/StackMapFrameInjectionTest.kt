@@ -0,0 +1,143 @@
+/*
+ * Copyright 2020 Michael Rozumyanskiy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.michaelrocks.lightsaber
+
+import org.junit.Assert.assertEquals
+import org.junit.Test
+import javax.inject.Inject
+
+// Patched classes keep the stack map frames of their original methods. The classes below have methods with branches,
+// loops and exception handlers, so the JVM rejects them when they're loaded if patching breaks the frames.
+class StackMapFrameInjectionTest {
+  @Test
+  fun testPatchedComponentAndModule() {
+    val lightsaber = Lightsaber.Builder().build()
+    val component = FrameComponent(3)
+    val injector = lightsaber.createInjector(component)
+
+    assertEquals("Frame:0,1,2", injector.getInstance<String>())
+    assertEquals(3, injector.getInstance<Int>())
+    assertEquals("odd", component.describe(3))
+    assertEquals("failed", component.describe(-1))
+  }
+
+  @Test
+  fun testPatchedInjectableTarget() {
+    val lightsaber = Lightsaber.Builder().build()
+    val injector = lightsaber.createInjector(FrameComponent(2))
+    val target = FrameTarget(true)
+    injector.injectMembers(target)
+
+    assertEquals("positive", target.kind)
+    assertEquals("Frame:0,1", target.string)
+    assertEquals(listOf("Frame:0,1", "Frame:0,1"), target.strings)
+  }
+
+  @Test
+  fun testPatchedProvidableTarget() {
+    val lightsaber = Lightsaber.Builder().build()
+    val injector = lightsaber.createInjector(FrameComponent(1))
+    val target = injector.getInstance<FrameProvidableTarget>()
+
+    assertEquals("Frame:0", target.string)
+    assertEquals(true, target.isShort)
+  }
+
+  @Component
+  private class FrameComponent(private val count: Int) {
+
+    @Import
+    private fun importFrameModule(): FrameModule {
+      return if (count > 0) FrameModule(count) else FrameModule(1)
+    }
+
+    @Provide
+    private fun provideCount(): Int {
+      var result = 0
+      for (index in 0 until count) {
+        result += 1
+      }
+      return result
+    }
+
+    fun describe(value: Int): String {
+      return try {
+        require(value >= 0)
+        when (value % 2) {
+          0 -> "even"
+          else -> "odd"
+        }
+      } catch (exception: IllegalArgumentException) {
+        "failed"
+      }
+    }
+  }
+
+  @Module
+  class FrameModule(private val count: Int) {
+
+    @Provide
+    private fun provideString(): String {
+      val builder = StringBuilder("Frame:")
+      for (index in 0 until count) {
+        if (index > 0) {
+          builder.append(',')
+        }
+        builder.append(index)
+      }
+      return builder.toString()
+    }
+  }
+
+  private class FrameTarget(isPositive: Boolean) {
+    val kind: String = if (isPositive) "positive" else "negative"
+
+    @Inject
+    val string: String = inject()
+
+    var strings: List<String> = emptyList()
+
+    @Inject
+    fun injectStrings(string: String) {
+      val strings = ArrayList<String>()
+      while (strings.size < 2) {
+        try {
+          strings += string
+        } catch (exception: RuntimeException) {
+          break
+        }
+      }
+      this.strings = strings
+    }
+  }
+
+  @ProvidedBy(FrameModule::class)
+  private class FrameProvidableTarget @Inject constructor(val string: String) {
+    val isShort: Boolean
+
+    init {
+      var length = 0
+      for (char in string) {
+        if (char == ':') {
+          break
+        }
+        length += 1
+      }
+      isShort = length < 10
+    }
+  }
+}
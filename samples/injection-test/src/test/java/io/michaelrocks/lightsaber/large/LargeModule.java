@@ -0,0 +1,1534 @@
+/*
+ * Copyright 2020 Michael Rozumyanskiy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.michaelrocks.lightsaber.large;
+
+import javax.inject.Named;
+
+import io.michaelrocks.lightsaber.Module;
+import io.michaelrocks.lightsaber.Provide;
+import io.michaelrocks.lightsaber.internal.LightsaberInjector;
+
+// Has more providers than a single configureInjector method registers, so registrations are split into chunk methods.
+@Module
+class LargeModule {
+  static final int PROVIDER_COUNT = 250;
+
+  // Occupies the name of the first chunk method.
+  @SuppressWarnings("unused")
+  private void configureInjector$Lightsaber$0(final LightsaberInjector injector) {
+  }
+
+  @Provide
+  @Named("dependency0")
+  String provideDependency0() {
+    return "dependency0";
+  }
+
+  @Provide
+  @Named("dependency1")
+  String provideDependency1() {
+    return "dependency1";
+  }
+
+  @Provide
+  @Named("dependency2")
+  String provideDependency2() {
+    return "dependency2";
+  }
+
+  @Provide
+  @Named("dependency3")
+  String provideDependency3() {
+    return "dependency3";
+  }
+
+  @Provide
+  @Named("dependency4")
+  String provideDependency4() {
+    return "dependency4";
+  }
+
+  @Provide
+  @Named("dependency5")
+  String provideDependency5() {
+    return "dependency5";
+  }
+
+  @Provide
+  @Named("dependency6")
+  String provideDependency6() {
+    return "dependency6";
+  }
+
+  @Provide
+  @Named("dependency7")
+  String provideDependency7() {
+    return "dependency7";
+  }
+
+  @Provide
+  @Named("dependency8")
+  String provideDependency8() {
+    return "dependency8";
+  }
+
+  @Provide
+  @Named("dependency9")
+  String provideDependency9() {
+    return "dependency9";
+  }
+
+  @Provide
+  @Named("dependency10")
+  String provideDependency10() {
+    return "dependency10";
+  }
+
+  @Provide
+  @Named("dependency11")
+  String provideDependency11() {
+    return "dependency11";
+  }
+
+  @Provide
+  @Named("dependency12")
+  String provideDependency12() {
+    return "dependency12";
+  }
+
+  @Provide
+  @Named("dependency13")
+  String provideDependency13() {
+    return "dependency13";
+  }
+
+  @Provide
+  @Named("dependency14")
+  String provideDependency14() {
+    return "dependency14";
+  }
+
+  @Provide
+  @Named("dependency15")
+  String provideDependency15() {
+    return "dependency15";
+  }
+
+  @Provide
+  @Named("dependency16")
+  String provideDependency16() {
+    return "dependency16";
+  }
+
+  @Provide
+  @Named("dependency17")
+  String provideDependency17() {
+    return "dependency17";
+  }
+
+  @Provide
+  @Named("dependency18")
+  String provideDependency18() {
+    return "dependency18";
+  }
+
+  @Provide
+  @Named("dependency19")
+  String provideDependency19() {
+    return "dependency19";
+  }
+
+  @Provide
+  @Named("dependency20")
+  String provideDependency20() {
+    return "dependency20";
+  }
+
+  @Provide
+  @Named("dependency21")
+  String provideDependency21() {
+    return "dependency21";
+  }
+
+  @Provide
+  @Named("dependency22")
+  String provideDependency22() {
+    return "dependency22";
+  }
+
+  @Provide
+  @Named("dependency23")
+  String provideDependency23() {
+    return "dependency23";
+  }
+
+  @Provide
+  @Named("dependency24")
+  String provideDependency24() {
+    return "dependency24";
+  }
+
+  @Provide
+  @Named("dependency25")
+  String provideDependency25() {
+    return "dependency25";
+  }
+
+  @Provide
+  @Named("dependency26")
+  String provideDependency26() {
+    return "dependency26";
+  }
+
+  @Provide
+  @Named("dependency27")
+  String provideDependency27() {
+    return "dependency27";
+  }
+
+  @Provide
+  @Named("dependency28")
+  String provideDependency28() {
+    return "dependency28";
+  }
+
+  @Provide
+  @Named("dependency29")
+  String provideDependency29() {
+    return "dependency29";
+  }
+
+  @Provide
+  @Named("dependency30")
+  String provideDependency30() {
+    return "dependency30";
+  }
+
+  @Provide
+  @Named("dependency31")
+  String provideDependency31() {
+    return "dependency31";
+  }
+
+  @Provide
+  @Named("dependency32")
+  String provideDependency32() {
+    return "dependency32";
+  }
+
+  @Provide
+  @Named("dependency33")
+  String provideDependency33() {
+    return "dependency33";
+  }
+
+  @Provide
+  @Named("dependency34")
+  String provideDependency34() {
+    return "dependency34";
+  }
+
+  @Provide
+  @Named("dependency35")
+  String provideDependency35() {
+    return "dependency35";
+  }
+
+  @Provide
+  @Named("dependency36")
+  String provideDependency36() {
+    return "dependency36";
+  }
+
+  @Provide
+  @Named("dependency37")
+  String provideDependency37() {
+    return "dependency37";
+  }
+
+  @Provide
+  @Named("dependency38")
+  String provideDependency38() {
+    return "dependency38";
+  }
+
+  @Provide
+  @Named("dependency39")
+  String provideDependency39() {
+    return "dependency39";
+  }
+
+  @Provide
+  @Named("dependency40")
+  String provideDependency40() {
+    return "dependency40";
+  }
+
+  @Provide
+  @Named("dependency41")
+  String provideDependency41() {
+    return "dependency41";
+  }
+
+  @Provide
+  @Named("dependency42")
+  String provideDependency42() {
+    return "dependency42";
+  }
+
+  @Provide
+  @Named("dependency43")
+  String provideDependency43() {
+    return "dependency43";
+  }
+
+  @Provide
+  @Named("dependency44")
+  String provideDependency44() {
+    return "dependency44";
+  }
+
+  @Provide
+  @Named("dependency45")
+  String provideDependency45() {
+    return "dependency45";
+  }
+
+  @Provide
+  @Named("dependency46")
+  String provideDependency46() {
+    return "dependency46";
+  }
+
+  @Provide
+  @Named("dependency47")
+  String provideDependency47() {
+    return "dependency47";
+  }
+
+  @Provide
+  @Named("dependency48")
+  String provideDependency48() {
+    return "dependency48";
+  }
+
+  @Provide
+  @Named("dependency49")
+  String provideDependency49() {
+    return "dependency49";
+  }
+
+  @Provide
+  @Named("dependency50")
+  String provideDependency50() {
+    return "dependency50";
+  }
+
+  @Provide
+  @Named("dependency51")
+  String provideDependency51() {
+    return "dependency51";
+  }
+
+  @Provide
+  @Named("dependency52")
+  String provideDependency52() {
+    return "dependency52";
+  }
+
+  @Provide
+  @Named("dependency53")
+  String provideDependency53() {
+    return "dependency53";
+  }
+
+  @Provide
+  @Named("dependency54")
+  String provideDependency54() {
+    return "dependency54";
+  }
+
+  @Provide
+  @Named("dependency55")
+  String provideDependency55() {
+    return "dependency55";
+  }
+
+  @Provide
+  @Named("dependency56")
+  String provideDependency56() {
+    return "dependency56";
+  }
+
+  @Provide
+  @Named("dependency57")
+  String provideDependency57() {
+    return "dependency57";
+  }
+
+  @Provide
+  @Named("dependency58")
+  String provideDependency58() {
+    return "dependency58";
+  }
+
+  @Provide
+  @Named("dependency59")
+  String provideDependency59() {
+    return "dependency59";
+  }
+
+  @Provide
+  @Named("dependency60")
+  String provideDependency60() {
+    return "dependency60";
+  }
+
+  @Provide
+  @Named("dependency61")
+  String provideDependency61() {
+    return "dependency61";
+  }
+
+  @Provide
+  @Named("dependency62")
+  String provideDependency62() {
+    return "dependency62";
+  }
+
+  @Provide
+  @Named("dependency63")
+  String provideDependency63() {
+    return "dependency63";
+  }
+
+  @Provide
+  @Named("dependency64")
+  String provideDependency64() {
+    return "dependency64";
+  }
+
+  @Provide
+  @Named("dependency65")
+  String provideDependency65() {
+    return "dependency65";
+  }
+
+  @Provide
+  @Named("dependency66")
+  String provideDependency66() {
+    return "dependency66";
+  }
+
+  @Provide
+  @Named("dependency67")
+  String provideDependency67() {
+    return "dependency67";
+  }
+
+  @Provide
+  @Named("dependency68")
+  String provideDependency68() {
+    return "dependency68";
+  }
+
+  @Provide
+  @Named("dependency69")
+  String provideDependency69() {
+    return "dependency69";
+  }
+
+  @Provide
+  @Named("dependency70")
+  String provideDependency70() {
+    return "dependency70";
+  }
+
+  @Provide
+  @Named("dependency71")
+  String provideDependency71() {
+    return "dependency71";
+  }
+
+  @Provide
+  @Named("dependency72")
+  String provideDependency72() {
+    return "dependency72";
+  }
+
+  @Provide
+  @Named("dependency73")
+  String provideDependency73() {
+    return "dependency73";
+  }
+
+  @Provide
+  @Named("dependency74")
+  String provideDependency74() {
+    return "dependency74";
+  }
+
+  @Provide
+  @Named("dependency75")
+  String provideDependency75() {
+    return "dependency75";
+  }
+
+  @Provide
+  @Named("dependency76")
+  String provideDependency76() {
+    return "dependency76";
+  }
+
+  @Provide
+  @Named("dependency77")
+  String provideDependency77() {
+    return "dependency77";
+  }
+
+  @Provide
+  @Named("dependency78")
+  String provideDependency78() {
+    return "dependency78";
+  }
+
+  @Provide
+  @Named("dependency79")
+  String provideDependency79() {
+    return "dependency79";
+  }
+
+  @Provide
+  @Named("dependency80")
+  String provideDependency80() {
+    return "dependency80";
+  }
+
+  @Provide
+  @Named("dependency81")
+  String provideDependency81() {
+    return "dependency81";
+  }
+
+  @Provide
+  @Named("dependency82")
+  String provideDependency82() {
+    return "dependency82";
+  }
+
+  @Provide
+  @Named("dependency83")
+  String provideDependency83() {
+    return "dependency83";
+  }
+
+  @Provide
+  @Named("dependency84")
+  String provideDependency84() {
+    return "dependency84";
+  }
+
+  @Provide
+  @Named("dependency85")
+  String provideDependency85() {
+    return "dependency85";
+  }
+
+  @Provide
+  @Named("dependency86")
+  String provideDependency86() {
+    return "dependency86";
+  }
+
+  @Provide
+  @Named("dependency87")
+  String provideDependency87() {
+    return "dependency87";
+  }
+
+  @Provide
+  @Named("dependency88")
+  String provideDependency88() {
+    return "dependency88";
+  }
+
+  @Provide
+  @Named("dependency89")
+  String provideDependency89() {
+    return "dependency89";
+  }
+
+  @Provide
+  @Named("dependency90")
+  String provideDependency90() {
+    return "dependency90";
+  }
+
+  @Provide
+  @Named("dependency91")
+  String provideDependency91() {
+    return "dependency91";
+  }
+
+  @Provide
+  @Named("dependency92")
+  String provideDependency92() {
+    return "dependency92";
+  }
+
+  @Provide
+  @Named("dependency93")
+  String provideDependency93() {
+    return "dependency93";
+  }
+
+  @Provide
+  @Named("dependency94")
+  String provideDependency94() {
+    return "dependency94";
+  }
+
+  @Provide
+  @Named("dependency95")
+  String provideDependency95() {
+    return "dependency95";
+  }
+
+  @Provide
+  @Named("dependency96")
+  String provideDependency96() {
+    return "dependency96";
+  }
+
+  @Provide
+  @Named("dependency97")
+  String provideDependency97() {
+    return "dependency97";
+  }
+
+  @Provide
+  @Named("dependency98")
+  String provideDependency98() {
+    return "dependency98";
+  }
+
+  @Provide
+  @Named("dependency99")
+  String provideDependency99() {
+    return "dependency99";
+  }
+
+  @Provide
+  @Named("dependency100")
+  String provideDependency100() {
+    return "dependency100";
+  }
+
+  @Provide
+  @Named("dependency101")
+  String provideDependency101() {
+    return "dependency101";
+  }
+
+  @Provide
+  @Named("dependency102")
+  String provideDependency102() {
+    return "dependency102";
+  }
+
+  @Provide
+  @Named("dependency103")
+  String provideDependency103() {
+    return "dependency103";
+  }
+
+  @Provide
+  @Named("dependency104")
+  String provideDependency104() {
+    return "dependency104";
+  }
+
+  @Provide
+  @Named("dependency105")
+  String provideDependency105() {
+    return "dependency105";
+  }
+
+  @Provide
+  @Named("dependency106")
+  String provideDependency106() {
+    return "dependency106";
+  }
+
+  @Provide
+  @Named("dependency107")
+  String provideDependency107() {
+    return "dependency107";
+  }
+
+  @Provide
+  @Named("dependency108")
+  String provideDependency108() {
+    return "dependency108";
+  }
+
+  @Provide
+  @Named("dependency109")
+  String provideDependency109() {
+    return "dependency109";
+  }
+
+  @Provide
+  @Named("dependency110")
+  String provideDependency110() {
+    return "dependency110";
+  }
+
+  @Provide
+  @Named("dependency111")
+  String provideDependency111() {
+    return "dependency111";
+  }
+
+  @Provide
+  @Named("dependency112")
+  String provideDependency112() {
+    return "dependency112";
+  }
+
+  @Provide
+  @Named("dependency113")
+  String provideDependency113() {
+    return "dependency113";
+  }
+
+  @Provide
+  @Named("dependency114")
+  String provideDependency114() {
+    return "dependency114";
+  }
+
+  @Provide
+  @Named("dependency115")
+  String provideDependency115() {
+    return "dependency115";
+  }
+
+  @Provide
+  @Named("dependency116")
+  String provideDependency116() {
+    return "dependency116";
+  }
+
+  @Provide
+  @Named("dependency117")
+  String provideDependency117() {
+    return "dependency117";
+  }
+
+  @Provide
+  @Named("dependency118")
+  String provideDependency118() {
+    return "dependency118";
+  }
+
+  @Provide
+  @Named("dependency119")
+  String provideDependency119() {
+    return "dependency119";
+  }
+
+  @Provide
+  @Named("dependency120")
+  String provideDependency120() {
+    return "dependency120";
+  }
+
+  @Provide
+  @Named("dependency121")
+  String provideDependency121() {
+    return "dependency121";
+  }
+
+  @Provide
+  @Named("dependency122")
+  String provideDependency122() {
+    return "dependency122";
+  }
+
+  @Provide
+  @Named("dependency123")
+  String provideDependency123() {
+    return "dependency123";
+  }
+
+  @Provide
+  @Named("dependency124")
+  String provideDependency124() {
+    return "dependency124";
+  }
+
+  @Provide
+  @Named("dependency125")
+  String provideDependency125() {
+    return "dependency125";
+  }
+
+  @Provide
+  @Named("dependency126")
+  String provideDependency126() {
+    return "dependency126";
+  }
+
+  @Provide
+  @Named("dependency127")
+  String provideDependency127() {
+    return "dependency127";
+  }
+
+  @Provide
+  @Named("dependency128")
+  String provideDependency128() {
+    return "dependency128";
+  }
+
+  @Provide
+  @Named("dependency129")
+  String provideDependency129() {
+    return "dependency129";
+  }
+
+  @Provide
+  @Named("dependency130")
+  String provideDependency130() {
+    return "dependency130";
+  }
+
+  @Provide
+  @Named("dependency131")
+  String provideDependency131() {
+    return "dependency131";
+  }
+
+  @Provide
+  @Named("dependency132")
+  String provideDependency132() {
+    return "dependency132";
+  }
+
+  @Provide
+  @Named("dependency133")
+  String provideDependency133() {
+    return "dependency133";
+  }
+
+  @Provide
+  @Named("dependency134")
+  String provideDependency134() {
+    return "dependency134";
+  }
+
+  @Provide
+  @Named("dependency135")
+  String provideDependency135() {
+    return "dependency135";
+  }
+
+  @Provide
+  @Named("dependency136")
+  String provideDependency136() {
+    return "dependency136";
+  }
+
+  @Provide
+  @Named("dependency137")
+  String provideDependency137() {
+    return "dependency137";
+  }
+
+  @Provide
+  @Named("dependency138")
+  String provideDependency138() {
+    return "dependency138";
+  }
+
+  @Provide
+  @Named("dependency139")
+  String provideDependency139() {
+    return "dependency139";
+  }
+
+  @Provide
+  @Named("dependency140")
+  String provideDependency140() {
+    return "dependency140";
+  }
+
+  @Provide
+  @Named("dependency141")
+  String provideDependency141() {
+    return "dependency141";
+  }
+
+  @Provide
+  @Named("dependency142")
+  String provideDependency142() {
+    return "dependency142";
+  }
+
+  @Provide
+  @Named("dependency143")
+  String provideDependency143() {
+    return "dependency143";
+  }
+
+  @Provide
+  @Named("dependency144")
+  String provideDependency144() {
+    return "dependency144";
+  }
+
+  @Provide
+  @Named("dependency145")
+  String provideDependency145() {
+    return "dependency145";
+  }
+
+  @Provide
+  @Named("dependency146")
+  String provideDependency146() {
+    return "dependency146";
+  }
+
+  @Provide
+  @Named("dependency147")
+  String provideDependency147() {
+    return "dependency147";
+  }
+
+  @Provide
+  @Named("dependency148")
+  String provideDependency148() {
+    return "dependency148";
+  }
+
+  @Provide
+  @Named("dependency149")
+  String provideDependency149() {
+    return "dependency149";
+  }
+
+  @Provide
+  @Named("dependency150")
+  String provideDependency150() {
+    return "dependency150";
+  }
+
+  @Provide
+  @Named("dependency151")
+  String provideDependency151() {
+    return "dependency151";
+  }
+
+  @Provide
+  @Named("dependency152")
+  String provideDependency152() {
+    return "dependency152";
+  }
+
+  @Provide
+  @Named("dependency153")
+  String provideDependency153() {
+    return "dependency153";
+  }
+
+  @Provide
+  @Named("dependency154")
+  String provideDependency154() {
+    return "dependency154";
+  }
+
+  @Provide
+  @Named("dependency155")
+  String provideDependency155() {
+    return "dependency155";
+  }
+
+  @Provide
+  @Named("dependency156")
+  String provideDependency156() {
+    return "dependency156";
+  }
+
+  @Provide
+  @Named("dependency157")
+  String provideDependency157() {
+    return "dependency157";
+  }
+
+  @Provide
+  @Named("dependency158")
+  String provideDependency158() {
+    return "dependency158";
+  }
+
+  @Provide
+  @Named("dependency159")
+  String provideDependency159() {
+    return "dependency159";
+  }
+
+  @Provide
+  @Named("dependency160")
+  String provideDependency160() {
+    return "dependency160";
+  }
+
+  @Provide
+  @Named("dependency161")
+  String provideDependency161() {
+    return "dependency161";
+  }
+
+  @Provide
+  @Named("dependency162")
+  String provideDependency162() {
+    return "dependency162";
+  }
+
+  @Provide
+  @Named("dependency163")
+  String provideDependency163() {
+    return "dependency163";
+  }
+
+  @Provide
+  @Named("dependency164")
+  String provideDependency164() {
+    return "dependency164";
+  }
+
+  @Provide
+  @Named("dependency165")
+  String provideDependency165() {
+    return "dependency165";
+  }
+
+  @Provide
+  @Named("dependency166")
+  String provideDependency166() {
+    return "dependency166";
+  }
+
+  @Provide
+  @Named("dependency167")
+  String provideDependency167() {
+    return "dependency167";
+  }
+
+  @Provide
+  @Named("dependency168")
+  String provideDependency168() {
+    return "dependency168";
+  }
+
+  @Provide
+  @Named("dependency169")
+  String provideDependency169() {
+    return "dependency169";
+  }
+
+  @Provide
+  @Named("dependency170")
+  String provideDependency170() {
+    return "dependency170";
+  }
+
+  @Provide
+  @Named("dependency171")
+  String provideDependency171() {
+    return "dependency171";
+  }
+
+  @Provide
+  @Named("dependency172")
+  String provideDependency172() {
+    return "dependency172";
+  }
+
+  @Provide
+  @Named("dependency173")
+  String provideDependency173() {
+    return "dependency173";
+  }
+
+  @Provide
+  @Named("dependency174")
+  String provideDependency174() {
+    return "dependency174";
+  }
+
+  @Provide
+  @Named("dependency175")
+  String provideDependency175() {
+    return "dependency175";
+  }
+
+  @Provide
+  @Named("dependency176")
+  String provideDependency176() {
+    return "dependency176";
+  }
+
+  @Provide
+  @Named("dependency177")
+  String provideDependency177() {
+    return "dependency177";
+  }
+
+  @Provide
+  @Named("dependency178")
+  String provideDependency178() {
+    return "dependency178";
+  }
+
+  @Provide
+  @Named("dependency179")
+  String provideDependency179() {
+    return "dependency179";
+  }
+
+  @Provide
+  @Named("dependency180")
+  String provideDependency180() {
+    return "dependency180";
+  }
+
+  @Provide
+  @Named("dependency181")
+  String provideDependency181() {
+    return "dependency181";
+  }
+
+  @Provide
+  @Named("dependency182")
+  String provideDependency182() {
+    return "dependency182";
+  }
+
+  @Provide
+  @Named("dependency183")
+  String provideDependency183() {
+    return "dependency183";
+  }
+
+  @Provide
+  @Named("dependency184")
+  String provideDependency184() {
+    return "dependency184";
+  }
+
+  @Provide
+  @Named("dependency185")
+  String provideDependency185() {
+    return "dependency185";
+  }
+
+  @Provide
+  @Named("dependency186")
+  String provideDependency186() {
+    return "dependency186";
+  }
+
+  @Provide
+  @Named("dependency187")
+  String provideDependency187() {
+    return "dependency187";
+  }
+
+  @Provide
+  @Named("dependency188")
+  String provideDependency188() {
+    return "dependency188";
+  }
+
+  @Provide
+  @Named("dependency189")
+  String provideDependency189() {
+    return "dependency189";
+  }
+
+  @Provide
+  @Named("dependency190")
+  String provideDependency190() {
+    return "dependency190";
+  }
+
+  @Provide
+  @Named("dependency191")
+  String provideDependency191() {
+    return "dependency191";
+  }
+
+  @Provide
+  @Named("dependency192")
+  String provideDependency192() {
+    return "dependency192";
+  }
+
+  @Provide
+  @Named("dependency193")
+  String provideDependency193() {
+    return "dependency193";
+  }
+
+  @Provide
+  @Named("dependency194")
+  String provideDependency194() {
+    return "dependency194";
+  }
+
+  @Provide
+  @Named("dependency195")
+  String provideDependency195() {
+    return "dependency195";
+  }
+
+  @Provide
+  @Named("dependency196")
+  String provideDependency196() {
+    return "dependency196";
+  }
+
+  @Provide
+  @Named("dependency197")
+  String provideDependency197() {
+    return "dependency197";
+  }
+
+  @Provide
+  @Named("dependency198")
+  String provideDependency198() {
+    return "dependency198";
+  }
+
+  @Provide
+  @Named("dependency199")
+  String provideDependency199() {
+    return "dependency199";
+  }
+
+  @Provide
+  @Named("dependency200")
+  String provideDependency200() {
+    return "dependency200";
+  }
+
+  @Provide
+  @Named("dependency201")
+  String provideDependency201() {
+    return "dependency201";
+  }
+
+  @Provide
+  @Named("dependency202")
+  String provideDependency202() {
+    return "dependency202";
+  }
+
+  @Provide
+  @Named("dependency203")
+  String provideDependency203() {
+    return "dependency203";
+  }
+
+  @Provide
+  @Named("dependency204")
+  String provideDependency204() {
+    return "dependency204";
+  }
+
+  @Provide
+  @Named("dependency205")
+  String provideDependency205() {
+    return "dependency205";
+  }
+
+  @Provide
+  @Named("dependency206")
+  String provideDependency206() {
+    return "dependency206";
+  }
+
+  @Provide
+  @Named("dependency207")
+  String provideDependency207() {
+    return "dependency207";
+  }
+
+  @Provide
+  @Named("dependency208")
+  String provideDependency208() {
+    return "dependency208";
+  }
+
+  @Provide
+  @Named("dependency209")
+  String provideDependency209() {
+    return "dependency209";
+  }
+
+  @Provide
+  @Named("dependency210")
+  String provideDependency210() {
+    return "dependency210";
+  }
+
+  @Provide
+  @Named("dependency211")
+  String provideDependency211() {
+    return "dependency211";
+  }
+
+  @Provide
+  @Named("dependency212")
+  String provideDependency212() {
+    return "dependency212";
+  }
+
+  @Provide
+  @Named("dependency213")
+  String provideDependency213() {
+    return "dependency213";
+  }
+
+  @Provide
+  @Named("dependency214")
+  String provideDependency214() {
+    return "dependency214";
+  }
+
+  @Provide
+  @Named("dependency215")
+  String provideDependency215() {
+    return "dependency215";
+  }
+
+  @Provide
+  @Named("dependency216")
+  String provideDependency216() {
+    return "dependency216";
+  }
+
+  @Provide
+  @Named("dependency217")
+  String provideDependency217() {
+    return "dependency217";
+  }
+
+  @Provide
+  @Named("dependency218")
+  String provideDependency218() {
+    return "dependency218";
+  }
+
+  @Provide
+  @Named("dependency219")
+  String provideDependency219() {
+    return "dependency219";
+  }
+
+  @Provide
+  @Named("dependency220")
+  String provideDependency220() {
+    return "dependency220";
+  }
+
+  @Provide
+  @Named("dependency221")
+  String provideDependency221() {
+    return "dependency221";
+  }
+
+  @Provide
+  @Named("dependency222")
+  String provideDependency222() {
+    return "dependency222";
+  }
+
+  @Provide
+  @Named("dependency223")
+  String provideDependency223() {
+    return "dependency223";
+  }
+
+  @Provide
+  @Named("dependency224")
+  String provideDependency224() {
+    return "dependency224";
+  }
+
+  @Provide
+  @Named("dependency225")
+  String provideDependency225() {
+    return "dependency225";
+  }
+
+  @Provide
+  @Named("dependency226")
+  String provideDependency226() {
+    return "dependency226";
+  }
+
+  @Provide
+  @Named("dependency227")
+  String provideDependency227() {
+    return "dependency227";
+  }
+
+  @Provide
+  @Named("dependency228")
+  String provideDependency228() {
+    return "dependency228";
+  }
+
+  @Provide
+  @Named("dependency229")
+  String provideDependency229() {
+    return "dependency229";
+  }
+
+  @Provide
+  @Named("dependency230")
+  String provideDependency230() {
+    return "dependency230";
+  }
+
+  @Provide
+  @Named("dependency231")
+  String provideDependency231() {
+    return "dependency231";
+  }
+
+  @Provide
+  @Named("dependency232")
+  String provideDependency232() {
+    return "dependency232";
+  }
+
+  @Provide
+  @Named("dependency233")
+  String provideDependency233() {
+    return "dependency233";
+  }
+
+  @Provide
+  @Named("dependency234")
+  String provideDependency234() {
+    return "dependency234";
+  }
+
+  @Provide
+  @Named("dependency235")
+  String provideDependency235() {
+    return "dependency235";
+  }
+
+  @Provide
+  @Named("dependency236")
+  String provideDependency236() {
+    return "dependency236";
+  }
+
+  @Provide
+  @Named("dependency237")
+  String provideDependency237() {
+    return "dependency237";
+  }
+
+  @Provide
+  @Named("dependency238")
+  String provideDependency238() {
+    return "dependency238";
+  }
+
+  @Provide
+  @Named("dependency239")
+  String provideDependency239() {
+    return "dependency239";
+  }
+
+  @Provide
+  @Named("dependency240")
+  String provideDependency240() {
+    return "dependency240";
+  }
+
+  @Provide
+  @Named("dependency241")
+  String provideDependency241() {
+    return "dependency241";
+  }
+
+  @Provide
+  @Named("dependency242")
+  String provideDependency242() {
+    return "dependency242";
+  }
+
+  @Provide
+  @Named("dependency243")
+  String provideDependency243() {
+    return "dependency243";
+  }
+
+  @Provide
+  @Named("dependency244")
+  String provideDependency244() {
+    return "dependency244";
+  }
+
+  @Provide
+  @Named("dependency245")
+  String provideDependency245() {
+    return "dependency245";
+  }
+
+  @Provide
+  @Named("dependency246")
+  String provideDependency246() {
+    return "dependency246";
+  }
+
+  @Provide
+  @Named("dependency247")
+  String provideDependency247() {
+    return "dependency247";
+  }
+
+  @Provide
+  @Named("dependency248")
+  String provideDependency248() {
+    return "dependency248";
+  }
+
+  @Provide
+  @Named("dependency249")
+  String provideDependency249() {
+    return "dependency249";
+  }
+}
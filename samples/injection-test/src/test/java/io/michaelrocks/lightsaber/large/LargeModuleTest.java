@@ -0,0 +1,58 @@
+/*
+ * Copyright 2020 Michael Rozumyanskiy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.michaelrocks.lightsaber.large;
+
+import org.junit.Test;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+
+import io.michaelrocks.lightsaber.Injector;
+import io.michaelrocks.lightsaber.Lightsaber;
+
+import static org.junit.Assert.assertEquals;
+
+public class LargeModuleTest {
+  @Test
+  public void testProvidersFromAllChunksAreRegistered() {
+    final Injector injector = new Lightsaber.Builder().build().createInjector(new LargeComponent());
+    final Target target = new Target();
+    injector.injectMembers(target);
+    assertEquals("dependency0", target.first);
+    assertEquals("dependency199", target.lastInFirstChunk);
+    assertEquals("dependency200", target.firstInSecondChunk);
+    assertEquals("dependency" + (LargeModule.PROVIDER_COUNT - 1), target.last);
+  }
+
+  static class Target {
+    @Inject
+    @Named("dependency0")
+    String first;
+
+    @Inject
+    @Named("dependency199")
+    String lastInFirstChunk;
+
+    @Inject
+    @Named("dependency200")
+    String firstInSecondChunk;
+
+    @Inject
+    @Named("dependency249")
+    String last;
+  }
+}